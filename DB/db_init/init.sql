@@ -7,12 +7,70 @@ CREATE TABLE IF NOT EXISTS events (
     event_time DATETIME,
     duration_seconds FLOAT,
     weight_info VARCHAR(255),
+    weight_grams DOUBLE, -- weight_info 를 숫자(g)로 변환한 값, 변환 불가 시 NULL
     origin_video_url VARCHAR(255),
     bbox_video_url VARCHAR(255),
     event_type VARCHAR(255),
-    cat_name VARCHAR(255)
+    cat_name VARCHAR(255),
+    -- 사용자별 기간 조회/키셋 페이지네이션용 (InnoDB 보조 인덱스에 PK(id)가 포함되어 (user_id, event_time, id) 순서로 정렬됨)
+    INDEX idx_events_user_time (user_id, event_time)
 );
 
+-- 고양이별 일일 음수량/식사량 롤업 (events INSERT 시 트리거로 증분 갱신)
+CREATE TABLE IF NOT EXISTS event_daily_stats (
+    user_id VARCHAR(255) NOT NULL,
+    stat_date DATE NOT NULL,
+    cat_name VARCHAR(255) NOT NULL,
+    water_total DOUBLE NOT NULL DEFAULT 0, -- 'drink' weight 합계
+    food_total DOUBLE NOT NULL DEFAULT 0,  -- 'meal' weight 합계
+    event_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, stat_date, cat_name)
+);
+
+-- weight_info 문자열("12.5g" 등)에서 숫자만 추출, 변환 불가 시 NULL (Event.parseWeightGrams 와 동일 규칙)
+CREATE FUNCTION IF NOT EXISTS parse_weight_info(weight_info VARCHAR(255))
+    RETURNS DOUBLE DETERMINISTIC NO SQL
+    RETURN IF(REGEXP_REPLACE(IFNULL(weight_info, ''), '[^0-9.]', '') REGEXP '^([0-9]+\\.?[0-9]*|\\.[0-9]+)$',
+              CAST(REGEXP_REPLACE(weight_info, '[^0-9.]', '') AS DOUBLE),
+              NULL);
+
+-- weight_grams 를 직접 넣지 않는 writer(collectionservice 등)를 위해 INSERT 시 채움
+CREATE TRIGGER IF NOT EXISTS trg_events_weight_grams BEFORE INSERT ON events
+FOR EACH ROW
+    SET NEW.weight_grams = IFNULL(NEW.weight_grams, parse_weight_info(NEW.weight_info));
+
+CREATE TRIGGER IF NOT EXISTS trg_events_daily_stats AFTER INSERT ON events
+FOR EACH ROW
+    INSERT INTO event_daily_stats (user_id, stat_date, cat_name, water_total, food_total, event_count)
+    SELECT NEW.user_id,
+           DATE(NEW.event_time),
+           NEW.cat_name,
+           IF(NEW.event_type = 'drink', IFNULL(NEW.weight_grams, 0), 0),
+           IF(NEW.event_type = 'meal', IFNULL(NEW.weight_grams, 0), 0),
+           1
+    FROM DUAL
+    WHERE NEW.user_id IS NOT NULL AND NEW.event_time IS NOT NULL AND NEW.cat_name IS NOT NULL
+    ON DUPLICATE KEY UPDATE
+        water_total = water_total + VALUES(water_total),
+        food_total  = food_total + VALUES(food_total),
+        event_count = event_count + 1;
+
+-- 기존 events 데이터로 롤업 재계산 (재실행해도 결과 동일)
+INSERT INTO event_daily_stats (user_id, stat_date, cat_name, water_total, food_total, event_count)
+SELECT user_id,
+       DATE(event_time),
+       cat_name,
+       IFNULL(SUM(IF(event_type = 'drink', IFNULL(weight_grams, parse_weight_info(weight_info)), 0)), 0),
+       IFNULL(SUM(IF(event_type = 'meal', IFNULL(weight_grams, parse_weight_info(weight_info)), 0)), 0),
+       COUNT(*)
+FROM events
+WHERE user_id IS NOT NULL AND event_time IS NOT NULL AND cat_name IS NOT NULL
+GROUP BY user_id, DATE(event_time), cat_name
+ON DUPLICATE KEY UPDATE
+    water_total = VALUES(water_total),
+    food_total  = VALUES(food_total),
+    event_count = VALUES(event_count);
+
 CREATE TABLE IF NOT EXISTS aimodel (
     id INT AUTO_INCREMENT PRIMARY KEY,
     user_id VARCHAR(255),
@@ -41,6 +99,7 @@ CREATE TABLE IF NOT EXISTS devices (
     wifi_name VARCHAR(255),
     location VARCHAR(255),
     user_id BIGINT,
+    updated_at DATETIME(6), -- 마지막 생성/수정 시각 (목록 ETag 계산용)
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
@@ -54,6 +113,7 @@ CREATE TABLE IF NOT EXISTS posts (
     views INT NOT NULL DEFAULT 0,
     likes INT NOT NULL DEFAULT 0,
     comments INT NOT NULL DEFAULT 0,
+    updated_at DATETIME(6), -- 마지막 생성/수정 시각 (댓글 수 변경 포함, 목록 ETag 계산용 - 조회수 반영은 제외)
     CHECK (views >= 0),
     CHECK (likes >= 0),
     CHECK (comments >= 0),
@@ -112,6 +172,7 @@ CREATE TABLE IF NOT EXISTS notices (
     views INT NOT NULL DEFAULT 0,
     priority ENUM('일반','중요','긴급') NOT NULL DEFAULT '일반',
     is_pinned TINYINT(1) NOT NULL DEFAULT 0,
+    updated_at DATETIME(6), -- 마지막 생성/수정 시각 (목록 ETag 계산용)
     CHECK (views >= 0),
     CHECK (is_pinned IN (0, 1)),
     INDEX idx_notices_pinned_created (is_pinned, created_at),
@@ -131,5 +192,28 @@ CREATE TABLE IF NOT EXISTS cats (
     weight FLOAT,
     health_status VARCHAR(255) NOT NULL, -- Enum 값 (예: HEALTHY, SICK 등)
     ai_data_file VARCHAR(255), -- AI 학습용 데이터 파일 경로
-    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
-);
+    created_at DATETIME(6),
+    updated_at DATETIME(6), -- 마지막 생성/수정 시각 (목록 ETag 계산용)
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    -- 이름/품종 검색용 (ngram 파서: 공백 없는 한글도 2글자 단위로 색인)
+    FULLTEXT INDEX ft_cats_name_breed (name, breed) WITH PARSER ngram
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 내용 주소(SHA-256) 기반 업로드 파일 (/app/public/objects/<hash 앞 2자리>/<hash>.<extension>)
+-- cats.image / users.profile_image 에서 참조하지 않는 파일은 StoredFileGarbageCollector 가 정리
+CREATE TABLE IF NOT EXISTS stored_files (
+    hash CHAR(64) PRIMARY KEY,
+    extension VARCHAR(10) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_uploaded_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, -- 마지막 업로드 시각 (GC 유예 기간 기준)
+    INDEX idx_stored_files_last_uploaded (last_uploaded_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 만료 전에 폐기(로그아웃)된 로그인 토큰 (security.auth.mode=token), 만료 시각이 지나면 TokenRevocationList 가 삭제
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    jti CHAR(36) NOT NULL UNIQUE,
+    expires_at DATETIME NOT NULL,
+    INDEX idx_revoked_tokens_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,54 @@
+-- 기존(init.sql 이 이미 실행된) DB 에 고양이별 일일 롤업(event_daily_stats)과 증분 갱신 트리거를 추가하는 마이그레이션
+-- 실행: mysql -u root -p my_app_db < DB/migrations/000_event_daily_stats.sql
+-- GET /api/events/stats 는 롤업 행이 있으면 이 테이블을 읽습니다. 001 보다 먼저 적용합니다.
+USE my_app_db;
+
+-- 고양이별 일일 음수량/식사량 롤업 (events INSERT 시 트리거로 증분 갱신)
+CREATE TABLE IF NOT EXISTS event_daily_stats (
+    user_id VARCHAR(255) NOT NULL,
+    stat_date DATE NOT NULL,
+    cat_name VARCHAR(255) NOT NULL,
+    water_total DOUBLE NOT NULL DEFAULT 0, -- 'drink' weight 합계
+    food_total DOUBLE NOT NULL DEFAULT 0,  -- 'meal' weight 합계
+    event_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, stat_date, cat_name)
+);
+
+-- weight_info 문자열("12.5g" 등)에서 숫자만 추출, 변환 불가 시 0 (EventService.parseWeight 와 동일 규칙)
+CREATE FUNCTION IF NOT EXISTS parse_weight_info(weight_info VARCHAR(255))
+    RETURNS DOUBLE DETERMINISTIC NO SQL
+    RETURN IF(REGEXP_REPLACE(IFNULL(weight_info, ''), '[^0-9.]', '') REGEXP '^([0-9]+\\.?[0-9]*|\\.[0-9]+)$',
+              CAST(REGEXP_REPLACE(weight_info, '[^0-9.]', '') AS DOUBLE),
+              0);
+
+CREATE TRIGGER IF NOT EXISTS trg_events_daily_stats AFTER INSERT ON events
+FOR EACH ROW
+    INSERT INTO event_daily_stats (user_id, stat_date, cat_name, water_total, food_total, event_count)
+    SELECT NEW.user_id,
+           DATE(NEW.event_time),
+           NEW.cat_name,
+           IF(NEW.event_type = 'drink', parse_weight_info(NEW.weight_info), 0),
+           IF(NEW.event_type = 'meal', parse_weight_info(NEW.weight_info), 0),
+           1
+    FROM DUAL
+    WHERE NEW.user_id IS NOT NULL AND NEW.event_time IS NOT NULL AND NEW.cat_name IS NOT NULL
+    ON DUPLICATE KEY UPDATE
+        water_total = water_total + VALUES(water_total),
+        food_total  = food_total + VALUES(food_total),
+        event_count = event_count + 1;
+
+-- 기존 events 데이터로 롤업 재계산 (재실행해도 결과 동일)
+INSERT INTO event_daily_stats (user_id, stat_date, cat_name, water_total, food_total, event_count)
+SELECT user_id,
+       DATE(event_time),
+       cat_name,
+       SUM(IF(event_type = 'drink', parse_weight_info(weight_info), 0)),
+       SUM(IF(event_type = 'meal', parse_weight_info(weight_info), 0)),
+       COUNT(*)
+FROM events
+WHERE user_id IS NOT NULL AND event_time IS NOT NULL AND cat_name IS NOT NULL
+GROUP BY user_id, DATE(event_time), cat_name
+ON DUPLICATE KEY UPDATE
+    water_total = VALUES(water_total),
+    food_total  = VALUES(food_total),
+    event_count = VALUES(event_count);
@@ -0,0 +1,57 @@
+-- 기존(init.sql 이 이미 실행된) DB 에 events.weight_grams 를 추가하고, 000 의 함수/롤업 트리거가 이 값을 쓰도록 바꾸는 마이그레이션
+-- 실행: mysql -u root -p my_app_db < DB/migrations/001_events_weight_grams.sql
+-- 기존 행의 weight_grams 도 여기서 한 번 채웁니다. (변환 불가 값은 NULL 로 남고 다시 검사하지 않음)
+USE my_app_db;
+
+ALTER TABLE events ADD COLUMN weight_grams DOUBLE AFTER weight_info;
+
+-- 반환값이 0 → NULL 로 바뀐 함수/트리거는 새로 만듦
+DROP TRIGGER IF EXISTS trg_events_daily_stats;
+DROP TRIGGER IF EXISTS trg_events_weight_grams;
+DROP FUNCTION IF EXISTS parse_weight_info;
+
+CREATE FUNCTION parse_weight_info(weight_info VARCHAR(255))
+    RETURNS DOUBLE DETERMINISTIC NO SQL
+    RETURN IF(REGEXP_REPLACE(IFNULL(weight_info, ''), '[^0-9.]', '') REGEXP '^([0-9]+\\.?[0-9]*|\\.[0-9]+)$',
+              CAST(REGEXP_REPLACE(weight_info, '[^0-9.]', '') AS DOUBLE),
+              NULL);
+
+CREATE TRIGGER trg_events_weight_grams BEFORE INSERT ON events
+FOR EACH ROW
+    SET NEW.weight_grams = IFNULL(NEW.weight_grams, parse_weight_info(NEW.weight_info));
+
+CREATE TRIGGER trg_events_daily_stats AFTER INSERT ON events
+FOR EACH ROW
+    INSERT INTO event_daily_stats (user_id, stat_date, cat_name, water_total, food_total, event_count)
+    SELECT NEW.user_id,
+           DATE(NEW.event_time),
+           NEW.cat_name,
+           IF(NEW.event_type = 'drink', IFNULL(NEW.weight_grams, 0), 0),
+           IF(NEW.event_type = 'meal', IFNULL(NEW.weight_grams, 0), 0),
+           1
+    FROM DUAL
+    WHERE NEW.user_id IS NOT NULL AND NEW.event_time IS NOT NULL AND NEW.cat_name IS NOT NULL
+    ON DUPLICATE KEY UPDATE
+        water_total = water_total + VALUES(water_total),
+        food_total  = food_total + VALUES(food_total),
+        event_count = event_count + 1;
+
+-- 기존 행 백필 - 한 번에 잠그기 부담스러운 큰 테이블이면 이 문장 대신 events.weight-backfill.enabled=true 로 한 번만 기동
+UPDATE events SET weight_grams = parse_weight_info(weight_info)
+WHERE weight_grams IS NULL AND weight_info IS NOT NULL;
+
+-- 롤업 재계산 (weight_grams 백필 전이면 weight_info 에서 직접 변환)
+INSERT INTO event_daily_stats (user_id, stat_date, cat_name, water_total, food_total, event_count)
+SELECT user_id,
+       DATE(event_time),
+       cat_name,
+       IFNULL(SUM(IF(event_type = 'drink', IFNULL(weight_grams, parse_weight_info(weight_info)), 0)), 0),
+       IFNULL(SUM(IF(event_type = 'meal', IFNULL(weight_grams, parse_weight_info(weight_info)), 0)), 0),
+       COUNT(*)
+FROM events
+WHERE user_id IS NOT NULL AND event_time IS NOT NULL AND cat_name IS NOT NULL
+GROUP BY user_id, DATE(event_time), cat_name
+ON DUPLICATE KEY UPDATE
+    water_total = VALUES(water_total),
+    food_total  = VALUES(food_total),
+    event_count = VALUES(event_count);
@@ -0,0 +1,6 @@
+-- 기존(init.sql 이 이미 실행된) DB 에 고양이 이름/품종 FULLTEXT(ngram) 인덱스를 추가하는 마이그레이션
+-- 실행: mysql -u root -p my_app_db < DB/migrations/002_cats_fulltext.sql
+-- GET /api/cats/search 는 이 인덱스가 있어야 합니다. (ddl-auto=update 로 만든 로컬 DB 포함)
+USE my_app_db;
+
+ALTER TABLE cats ADD FULLTEXT INDEX ft_cats_name_breed (name, breed) WITH PARSER ngram;
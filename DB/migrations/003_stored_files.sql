@@ -0,0 +1,13 @@
+-- 기존(init.sql 이 이미 실행된) DB 에 내용 주소 업로드 파일 테이블을 추가하는 마이그레이션
+-- 실행: mysql -u root -p my_app_db < DB/migrations/003_stored_files.sql
+-- 이전 방식(/app/public/<userId>/...)으로 저장된 파일은 이 테이블에 없으므로 GC 대상이 아니며 그대로 남습니다.
+USE my_app_db;
+
+CREATE TABLE IF NOT EXISTS stored_files (
+    hash CHAR(64) PRIMARY KEY,
+    extension VARCHAR(10) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_uploaded_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_stored_files_last_uploaded (last_uploaded_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,10 @@
+-- 기존(init.sql 이 이미 실행된) DB 에 목록 ETag 계산용 updated_at 컬럼을 추가하는 마이그레이션
+-- 실행: mysql -u root -p my_app_db < DB/migrations/004_updated_at.sql
+-- ddl-auto=update 로 만든 로컬 DB 는 cats.created_at/updated_at 이 이미 있으므로 cats 문장은 건너뜁니다.
+-- 기존 행은 NULL 로 남고, 다음 수정 시 채워집니다. (COUNT 가 같이 ETag 에 들어가므로 문제 없음)
+USE my_app_db;
+
+ALTER TABLE devices ADD COLUMN updated_at DATETIME(6);
+ALTER TABLE posts ADD COLUMN updated_at DATETIME(6);
+ALTER TABLE notices ADD COLUMN updated_at DATETIME(6);
+ALTER TABLE cats ADD COLUMN created_at DATETIME(6), ADD COLUMN updated_at DATETIME(6);
@@ -0,0 +1,11 @@
+-- 기존(init.sql 이 이미 실행된) DB 에 폐기 토큰 테이블을 추가하는 마이그레이션
+-- 실행: mysql -u root -p my_app_db < DB/migrations/005_revoked_tokens.sql
+-- security.auth.mode=token 으로 기동하기 전에 적용해야 합니다.
+USE my_app_db;
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    jti CHAR(36) NOT NULL UNIQUE,
+    expires_at DATETIME NOT NULL,
+    INDEX idx_revoked_tokens_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,52 @@
+package aivle0514.backspringboot.auth;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * [추가] UUID(jti) 전용 블룸 필터 (스레드 안전, 삭제 불가)
+ * mightContain 이 false 면 확실히 없음, true 면 실제로 있는지 DB 로 확인해야 합니다. (오탐률 ≈ fpp)
+ * UUID 의 상위/하위 64비트를 두 해시로 쓰는 이중 해싱이라 별도 해시 계산이 없습니다.
+ */
+class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(int expectedInsertions, double fpp) {
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, m);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    void put(UUID id) {
+        long h1 = id.getMostSignificantBits();
+        long h2 = id.getLeastSignificantBits();
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(UUID id) {
+        long h1 = id.getMostSignificantBits();
+        long h2 = id.getLeastSignificantBits();
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
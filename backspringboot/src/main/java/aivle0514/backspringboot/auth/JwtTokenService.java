@@ -0,0 +1,151 @@
+package aivle0514.backspringboot.auth;
+
+import aivle0514.backspringboot.user.AuthUser;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.*;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.WebUtils;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * [추가] 로그인 토큰(JWT, HS256) 발급/검증 (security.auth.mode=token 일 때만)
+ * 서명 검증은 공유 비밀키로 각 인스턴스에서 바로 하므로 세션 저장소나 sticky session 없이 어느 인스턴스든 요청을 처리할 수 있습니다.
+ * 토큰에는 이메일(sub)과 users.id(uid)를 담아 AuthUser 를 DB 조회 없이 만듭니다.
+ * 토큰은 Authorization: Bearer 헤더 또는 HttpOnly 쿠키(access_token)로 받습니다. (EventSource 처럼 헤더를 못 붙이는 경우)
+ */
+@Component
+@ConditionalOnProperty(name = "security.auth.mode", havingValue = "token")
+public class JwtTokenService {
+
+    public static final String COOKIE_NAME = "access_token";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final int MIN_SECRET_BYTES = 32; // HS256 키 최소 길이
+    // 남아 있는 잘못된(폐기/키 변경) 쿠키 때문에 다시 로그인조차 못 하는 일이 없도록 토큰을 보지 않는 경로
+    private static final Set<String> PUBLIC_PATHS = Set.of("/api/user/login", "/api/user/signup", "/api/user/reset-password");
+
+    private final JwtEncoder encoder;
+    private final NimbusJwtDecoder decoder;
+    private final Duration ttl;
+    private final TokenRevocationList revocationList;
+    private final DefaultBearerTokenResolver headerResolver = new DefaultBearerTokenResolver();
+
+    public JwtTokenService(@Value("${security.token.secret:}") String secret,
+                           @Value("${security.token.ttl:1h}") Duration ttl,
+                           TokenRevocationList revocationList) {
+        byte[] keyBytes = secret.isBlank() ? new byte[0] : Base64.getDecoder().decode(secret);
+        if (keyBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("security.token.secret 은 Base64 로 인코딩한 " + MIN_SECRET_BYTES + "바이트 이상의 키여야 합니다.");
+        }
+        SecretKey key = new SecretKeySpec(keyBytes, "HmacSHA256");
+        this.encoder = new NimbusJwtEncoder(new ImmutableSecret<>(key));
+        this.decoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        this.decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefault(),
+                jwt -> revocationList.isRevoked(jwt.getId())
+                        ? OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "폐기된 토큰입니다.", null))
+                        : OAuth2TokenValidatorResult.success()));
+        this.ttl = ttl;
+        this.revocationList = revocationList;
+    }
+
+    /** 발급한 토큰 */
+    public record IssuedToken(String value, Instant expiresAt) {}
+
+    public IssuedToken issue(AuthUser user) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+        Jwt jwt = encoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims));
+        return new IssuedToken(jwt.getTokenValue(), jwt.getExpiresAt());
+    }
+
+    public JwtDecoder getDecoder() {
+        return decoder;
+    }
+
+    /** 검증된 토큰 → AuthUser principal (컨트롤러의 @AuthenticationPrincipal AuthUser 그대로 사용) */
+    public Converter<Jwt, AbstractAuthenticationToken> authenticationConverter() {
+        return jwt -> {
+            Long userId = ((Number) jwt.getClaim(USER_ID_CLAIM)).longValue();
+            AuthUser principal = new AuthUser(userId, jwt.getSubject(), "", Collections.emptyList());
+            return UsernamePasswordAuthenticationToken.authenticated(principal, jwt, principal.getAuthorities());
+        };
+    }
+
+    /** Authorization 헤더 우선, 없으면 access_token 쿠키 */
+    public BearerTokenResolver bearerTokenResolver() {
+        return request -> {
+            if (PUBLIC_PATHS.contains(request.getRequestURI())) {
+                return null;
+            }
+            String token = headerResolver.resolve(request);
+            if (token != null) {
+                return token;
+            }
+            Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+            return cookie != null && !cookie.getValue().isBlank() ? cookie.getValue() : null;
+        };
+    }
+
+    /** 로그아웃 - 요청의 토큰을 만료 시각까지 폐기 목록에 올림 (유효하지 않은 토큰은 무시) */
+    public void revoke(HttpServletRequest request) {
+        Jwt jwt;
+        try {
+            String token = bearerTokenResolver().resolve(request);
+            if (token == null) {
+                return;
+            }
+            jwt = decoder.decode(token);
+        } catch (RuntimeException e) {
+            return; // 형식 오류, 서명 불일치, 만료, 이미 폐기됨
+        }
+        revocationList.revoke(jwt.getId(), jwt.getExpiresAt());
+    }
+
+    public ResponseCookie cookie(IssuedToken token, boolean secure) {
+        return ResponseCookie.from(COOKIE_NAME, token.value())
+                .httpOnly(true)
+                .secure(secure)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(Duration.between(Instant.now(), token.expiresAt()))
+                .build();
+    }
+
+    public ResponseCookie clearCookie(boolean secure) {
+        return ResponseCookie.from(COOKIE_NAME, "")
+                .httpOnly(true)
+                .secure(secure)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(0)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package aivle0514.backspringboot.auth;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * [추가] 만료 전에 폐기(로그아웃)된 토큰
+ * 토큰 자체는 서버에 저장하지 않으므로, 폐기된 토큰의 jti 만 만료 시각까지 보관합니다.
+ * 각 인스턴스는 이 테이블을 주기적으로 읽어 메모리의 블룸 필터(TokenRevocationList)에 반영합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // 증가 순서로 다른 인스턴스의 폐기분을 이어서 읽음
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // 원래 토큰 만료 시각, 이후 행 삭제
+}
@@ -0,0 +1,34 @@
+package aivle0514.backspringboot.auth;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // 같은 토큰으로 로그아웃을 여러 번 해도 행은 하나
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO revoked_tokens (jti, expires_at) VALUES (:jti, :expiresAt)", nativeQuery = true)
+    void insertIgnore(@Param("jti") String jti, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 블룸 필터 양성일 때만 확인 (SQL: SELECT 1 FROM revoked_tokens WHERE jti = ? LIMIT 1)
+    boolean existsByJti(String jti);
+
+    // 블룸 필터 동기화 - id 이후 추가된, 아직 만료되지 않은 폐기분 (PK 범위 스캔, 늦게 커밋된 행을 위해 settle-window 만큼 겹쳐 읽음)
+    @Query("SELECT r FROM RevokedToken r WHERE r.id > :afterId AND r.expiresAt > :now ORDER BY r.id")
+    List<RevokedToken> findActiveAfter(@Param("afterId") Long afterId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
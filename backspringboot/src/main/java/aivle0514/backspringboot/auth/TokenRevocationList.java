@@ -0,0 +1,152 @@
+package aivle0514.backspringboot.auth;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * [추가] 폐기된 토큰 목록 (revoked_tokens 테이블 + 메모리 블룸 필터)
+ * 대부분의 요청(폐기되지 않은 토큰)은 블룸 필터에서 "없음"으로 끝나 DB 를 조회하지 않고,
+ * 필터가 "있을 수도 있음"이라고 할 때만 DB 로 확인합니다.
+ * 다른 인스턴스에서 폐기한 토큰은 sync-interval 마다 이어서 읽어 반영하므로 그만큼 늦게 적용될 수 있습니다.
+ * [수정] AUTO_INCREMENT id 는 커밋 순서와 다를 수 있어(앞선 id 가 나중에 커밋), "지금까지 본 최대 id" 뒤만 읽으면 늦게 커밋된 폐기분을 놓칩니다.
+ * 그래서 커서를 settle-window 이전에 본 최대 id 로 두고, 매 동기화마다 그 뒤를 다시 읽습니다. (필터 put 은 여러 번 해도 같음)
+ * 블룸 필터는 삭제가 안 되므로 rebuild-interval 마다 만료된 행을 지우고 새로 만듭니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "security.auth.mode", havingValue = "token")
+public class TokenRevocationList {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final long settleWindowNanos;
+
+    private volatile BloomFilter filter;
+    // 아래 필드는 sync/rebuild 에서만 접근 (synchronized)
+    private long lastSeenId; // 지금까지 읽은 최대 id
+    private long settledId; // 이 id 이하 폐기분은 모두 반영됐다고 보는 커서 (settle-window 전에 본 최대 id)
+    private final Deque<long[]> seenMarks = new ArrayDeque<>(); // 동기화 시각별 lastSeenId - [nanoTime, id]
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${security.token.revocation.expected-insertions:100000}") int expectedInsertions,
+                               @Value("${security.token.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${security.token.revocation.settle-window:1m}") Duration settleWindow) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.settleWindowNanos = settleWindow.toNanos();
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    /**
+     * @param jti 토큰 id (서명 검증을 통과한 토큰의 jti)
+     */
+    public boolean isRevoked(String jti) {
+        UUID id = parse(jti);
+        if (id == null) {
+            return true; // 이 서버가 발급한 토큰은 항상 UUID
+        }
+        if (!filter.mightContain(id)) {
+            return false;
+        }
+        return revokedTokenRepository.existsByJti(jti); // 블룸 필터 오탐 확인
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        UUID id = parse(jti);
+        if (id == null || expiresAt == null || expiresAt.isBefore(Instant.now())) {
+            return; // 이미 만료된 토큰은 기록할 필요 없음
+        }
+        revokedTokenRepository.insertIgnore(jti, LocalDateTime.ofInstant(expiresAt, ZONE));
+        filter.put(id); // 이 인스턴스에는 즉시 반영
+    }
+
+    /** 다른 인스턴스에서 추가된 폐기분 반영 */
+    @Scheduled(fixedDelayString = "${security.token.revocation.sync-interval:10s}")
+    public synchronized void sync() {
+        try {
+            lastSeenId = Math.max(lastSeenId, loadInto(filter, settledId));
+            advanceSettledId();
+        } catch (DataAccessException e) {
+            log.warn("폐기 토큰 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /** 만료된 행 정리 후 필터 재생성 */
+    @Scheduled(initialDelayString = "${security.token.revocation.rebuild-interval:1h}",
+               fixedDelayString = "${security.token.revocation.rebuild-interval:1h}")
+    public synchronized void rebuild() {
+        try {
+            revokedTokenRepository.deleteExpired(LocalDateTime.now());
+            BloomFilter fresh = new BloomFilter(expectedInsertions, falsePositiveRate);
+            // 커서는 그대로 둠 - 적재 중에 아직 커밋되지 않았던 앞선 id 는 다음 sync 가 settledId 뒤를 다시 읽으며 채움
+            lastSeenId = Math.max(lastSeenId, loadInto(fresh, 0L));
+            filter = fresh;
+            advanceSettledId();
+        } catch (DataAccessException e) {
+            log.warn("폐기 토큰 목록 재생성 실패: {}", e.getMessage());
+        }
+    }
+
+    // settle-window 보다 오래전 동기화에서 본 최대 id 까지 커서를 올림
+    private void advanceSettledId() {
+        long now = System.nanoTime();
+        seenMarks.addLast(new long[]{now, lastSeenId});
+        while (!seenMarks.isEmpty() && now - seenMarks.peekFirst()[0] >= settleWindowNanos) {
+            settledId = Math.max(settledId, seenMarks.pollFirst()[1]);
+        }
+    }
+
+    private long loadInto(BloomFilter target, long afterId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> rows;
+        do {
+            rows = revokedTokenRepository.findActiveAfter(afterId, now, PageRequest.of(0, BATCH_SIZE));
+            for (RevokedToken row : rows) {
+                UUID id = parse(row.getJti());
+                if (id != null) {
+                    target.put(id);
+                }
+            }
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+        } while (rows.size() == BATCH_SIZE);
+        return afterId;
+    }
+
+    private static UUID parse(String jti) {
+        if (jti == null || jti.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(jti);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
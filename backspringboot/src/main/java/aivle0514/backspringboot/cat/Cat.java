@@ -60,6 +60,19 @@ public class Cat {
     @Column
     private LocalDateTime updatedAt;
 
+    // [추가] 생성/수정 시각 기록 (목록 ETag 계산에 사용)
+    @PrePersist
+    void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) createdAt = now;
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // [수정] 수동으로 만든 생성자는 삭제합니다. Lombok이 @AllArgsConstructor와 @Builder로 자동 생성합니다.
 
     // 업데이트 메서드는 그대로 유지합니다.
@@ -1,13 +1,15 @@
 package aivle0514.backspringboot.cat;
 import lombok.RequiredArgsConstructor;
-import aivle0514.backspringboot.user.User;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RestController;
-import aivle0514.backspringboot.user.UserRepository;
-import org.springframework.security.core.Authentication;
+import aivle0514.backspringboot.user.AuthUser;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import aivle0514.backspringboot.common.ETags;
 import java.util.List;
 import lombok.Setter; // Setter 어노테이션 추가
 import java.time.LocalDateTime; // LocalDateTime 클래스 추가
@@ -19,95 +21,98 @@ import org.springframework.transaction.annotation.Transactional;
 // @Slf4j
 public class CatController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CatService catService;
-    private final CatRepository catRepository; // CatRepository 추가 (findCatByUser, getCatStats 메서드 때문에 필요)
-    private final UserRepository userRepository; // UserRepository 추가 (findCatByUser 메서드 때문에 필요)
 
         /**
      * 
      * @param requestCatDto 
-     * @param authentication 현재 로그인된 사용자 정보
+     * @param authUser 현재 로그인된 사용자 정보
      * @return 생성된 
      */
  
 
     @PostMapping
     @Transactional
-    public ResponseEntity<Cat> addCat(@RequestBody CatDto.AddRequestCat requestCatDto, Authentication authentication) {
-        // 현재 인증된 사용자의 이메일을 가져옵니다.
-        String userEmail = authentication.getName();
-        
-        Cat newCat = catService.addCat(requestCatDto, userEmail);
+    public ResponseEntity<CatDto.Response> addCat(@RequestBody CatDto.AddRequestCat requestCatDto, @AuthenticationPrincipal AuthUser authUser) {
+        Cat newCat = catService.addCat(requestCatDto, authUser.getId());
         
-        return new ResponseEntity<>(newCat, HttpStatus.CREATED);
-    }
-
-    @Transactional(readOnly = true)
-    public Cat findCatByUser(Long id, String userEmail) {
-        User currentUser = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        Cat cat = catRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("해당 고양이를 찾을 수 없습니다."));
-
-        // 해당 고양이가 요청한 사용자의 소유인지 확인
-        if (!cat.getUser().getEmail().equals(userEmail)) {
-            throw new IllegalStateException("권한이 없는 고양이입니다.");
-        }
-
-        return cat;
+        return new ResponseEntity<>(CatDto.Response.from(newCat), HttpStatus.CREATED);
     }
 
-
-
     @PutMapping("/{id}")
-    public ResponseEntity<Cat> updateCat(@PathVariable Long id, 
+    public ResponseEntity<CatDto.Response> updateCat(@PathVariable Long id, 
                                          @RequestBody CatDto.UpdateRequestCat requestCatDto,
-                                         Authentication authentication) {
-        String userEmail = authentication.getName();
-        Cat updatedCat = catService.updateCat(id, requestCatDto, userEmail);
-        return ResponseEntity.ok(updatedCat);
+                                         @AuthenticationPrincipal AuthUser authUser) {
+        Cat updatedCat = catService.updateCat(id, requestCatDto, authUser.getId());
+        return ResponseEntity.ok(CatDto.Response.from(updatedCat));
     }
 
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCat(@PathVariable Long id, Authentication authentication) {
-        String userEmail = authentication.getName();
-        catService.deleteCat(id, userEmail);
+    public ResponseEntity<Void> deleteCat(@PathVariable Long id, @AuthenticationPrincipal AuthUser authUser) {
+        catService.deleteCat(id, authUser.getId());
         return ResponseEntity.noContent().build();
     }
 
 
+    /**
+     * [수정] 내 고양이 목록 (엔티티 대신 DTO)
+     * GET /api/cats               : 전체 필드 (수정 화면 등에서 사용)
+     * GET /api/cats?view=summary  : id, name, image, healthStatus 만 (목록/선택 UI 용, memo 등 제외)
+     * [추가] If-None-Match 가 현재 ETag 와 같으면 목록을 조회하지 않고 304
+     */
     @GetMapping
-    public ResponseEntity<List<Cat>> getUserCats(Authentication authentication) {
-        String userEmail = authentication.getName();
-        List<Cat> cats = catService.findCatsByUser(userEmail);
+    public ResponseEntity<List<?>> getUserCats(@RequestParam(required = false) String view,
+                                               @AuthenticationPrincipal AuthUser authUser,
+                                               WebRequest webRequest) {
+        if (ETags.checkNotModified(webRequest, catService.getCatListETag(authUser.getId()))) {
+            return null; // 304 Not Modified (본문 없음)
+        }
+        if ("summary".equals(view)) {
+            return ResponseEntity.ok(catService.findCatSummariesByUser(authUser.getId()));
+        }
+        List<CatDto.Response> cats = catService.findCatsByUser(authUser.getId()).stream()
+                .map(CatDto.Response::from)
+                .toList();
         return ResponseEntity.ok(cats);
     }
  
+    /**
+     * [수정] 내 고양이 이름/품종 검색 (관련도순, 페이지)
+     * 예: GET /api/cats/search?keyword=치즈&page=0&size=10
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<Cat>> searchCats(@RequestParam String keyword) {
-        List<Cat> result = catService.searchCats(keyword);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<Page<CatDto.Response>> searchCats(@RequestParam String keyword,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(defaultValue = "10") int size,
+                                                @AuthenticationPrincipal AuthUser authUser) {
+        Page<Cat> result = catService.searchCats(keyword, authUser.getId(),
+                Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        return ResponseEntity.ok(result.map(CatDto.Response::from));
     }
 
 
  
-    @Transactional(readOnly = true)
-    public CatStatsDto getCatStats() {
-        long total = catRepository.count();
-        long healthy = catRepository.countByHealthStatus(HealthStatus.healthy);
-        long attention = catRepository.countByHealthStatus(HealthStatus.caution);
-        Double avgWeightObj = catRepository.findAverageWeight();
-        double avgWeight = (avgWeightObj == null) ? 0.0 : avgWeightObj;
-        return new CatStatsDto(total, healthy, attention, avgWeight);
+    /**
+     * [수정] 고양이 통계 (CatService 의 캐시된 집계 사용, 컨트롤러 중복 구현 제거)
+     * GET /api/cats/stats            : 로그인한 사용자의 고양이
+     * GET /api/cats/stats?scope=all  : 전체 고양이
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<CatStatsDto> getCatStats(@RequestParam(defaultValue = "mine") String scope,
+                                                   @AuthenticationPrincipal AuthUser authUser) {
+        CatStatsDto stats = "all".equals(scope)
+                ? catService.getCatStats()
+                : catService.getCatStatsByUser(authUser.getId());
+        return ResponseEntity.ok(stats);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Cat> getCat(@PathVariable Long id, Authentication authentication) {
-        String userEmail = authentication.getName();
-        Cat cat = catService.findCatByUser(id, userEmail);
-        return ResponseEntity.ok(cat);
+    public ResponseEntity<CatDto.Response> getCat(@PathVariable Long id, @AuthenticationPrincipal AuthUser authUser) {
+        Cat cat = catService.findCatByUser(id, authUser.getId());
+        return ResponseEntity.ok(CatDto.Response.from(cat));
     }
 
 }
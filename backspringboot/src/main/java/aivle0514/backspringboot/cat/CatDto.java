@@ -1,7 +1,11 @@
 package aivle0514.backspringboot.cat;
 import aivle0514.backspringboot.cat.HealthStatus;
+import aivle0514.backspringboot.upload.ImageDerivativeService;
 import lombok.*;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 public class CatDto {
 
     @Getter
@@ -38,4 +42,53 @@ public class CatDto {
         private String aiDataFile;
     }
 
-}
\ No newline at end of file
+    // [추가] 응답용 DTO (엔티티 대신 반환: Hibernate 프록시/연관관계를 직렬화하지 않음)
+    @Builder
+    public record Response(
+        Long id,
+        String name,
+        String breed,
+        String gender,
+        int age,
+        String image,
+        String memo,
+        Float weight,
+        HealthStatus healthStatus,
+        String aiDataFile,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Map<Integer, String> thumbnails // [추가] 크기(128, 512) → 썸네일 URL. 목록 화면은 원본 대신 이것을 사용
+    ) {
+        public static Response from(Cat c) {
+            return Response.builder()
+                .id(c.getId())
+                .name(c.getName())
+                .breed(c.getBreed())
+                .gender(c.getGender())
+                .age(c.getAge())
+                .image(c.getImage())
+                .memo(c.getMemo())
+                .weight(c.getWeight())
+                .healthStatus(c.getHealthStatus())
+                .aiDataFile(c.getAiDataFile())
+                .createdAt(c.getCreatedAt())
+                .updatedAt(c.getUpdatedAt())
+                .thumbnails(ImageDerivativeService.thumbnailUrlsOf(c.getImage()))
+                .build();
+        }
+    }
+
+    // [추가] 목록용 요약 DTO (CatRepository 의 JPQL 생성자 쿼리로 이 4개 컬럼만 조회, memo 등 제외)
+    public record Summary(
+        Long id,
+        String name,
+        String image,
+        HealthStatus healthStatus,
+        Map<Integer, String> thumbnails // [추가] 크기(128, 512) → 썸네일 URL
+    ) {
+        // CatRepository 생성자 쿼리용 - 썸네일 URL 은 image 경로에서 계산
+        public Summary(Long id, String name, String image, HealthStatus healthStatus) {
+            this(id, name, image, healthStatus, ImageDerivativeService.thumbnailUrlsOf(image));
+        }
+    }
+}
@@ -1,22 +1,76 @@
 package aivle0514.backspringboot.cat;
 
+import aivle0514.backspringboot.common.VersionStamp;
 import aivle0514.backspringboot.user.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CatRepository extends JpaRepository<Cat, Long> {
 
+    // 통계 집계 SELECT 절 (healthy / caution 수를 조건부 SUM 으로 한 번에)
+    String STATS_SELECT = "SELECT COUNT(c) AS totalCats, " +
+            "SUM(CASE WHEN c.healthStatus = aivle0514.backspringboot.cat.HealthStatus.healthy THEN 1 ELSE 0 END) AS healthyCats, " +
+            "SUM(CASE WHEN c.healthStatus = aivle0514.backspringboot.cat.HealthStatus.caution THEN 1 ELSE 0 END) AS attentionCats, " +
+            "AVG(c.weight) AS averageWeight ";
+
     List<Cat> findAllByUser(User user); // Device -> Cat으로 수정
-    List<Cat> findByNameContainingOrBreedContaining(String nameKeyword, String breedKeyword);
+    List<Cat> findAllByUser_Id(Long userId); // [추가] User 를 조회하지 않고 user_id 로 바로 조회
+
+    // [추가] 목록 요약 (id, name, image, health_status 컬럼만 조회해 DTO 로 바로 생성)
+    @Query("SELECT new aivle0514.backspringboot.cat.CatDto$Summary(c.id, c.name, c.image, c.healthStatus) " +
+           "FROM Cat c WHERE c.user.id = :userId ORDER BY c.id")
+    List<CatDto.Summary> findSummariesByUserId(@Param("userId") Long userId);
+
+    // [추가] 내 고양이 목록의 버전 (ETag 용, 목록을 읽지 않고 COUNT/MAX 만)
+    @Query("SELECT COUNT(c) AS total, MAX(c.updatedAt) AS latest FROM Cat c WHERE c.user.id = :userId")
+    VersionStamp findVersionByUserId(@Param("userId") Long userId);
+
+    // [추가] 소유자 조건을 포함한 단건 조회 (SQL: SELECT * FROM cats WHERE id = ? AND user_id = ?)
+    Optional<Cat> findByIdAndUser_Id(Long id, Long userId);
+
+    // [추가] 소유자 조건을 포함한 삭제, 삭제된 행 수 반환 (SQL: DELETE FROM cats WHERE id = ? AND user_id = ?)
+    @Modifying
+    @Query("DELETE FROM Cat c WHERE c.id = :id AND c.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * [추가] 사용자의 고양이를 이름/품종으로 전문 검색 (ft_cats_name_breed ngram 인덱스, 관련도순)
+     * @param query MATCH ... AGAINST 의 BOOLEAN MODE 검색식 (CatService.toBooleanQuery 참고)
+     */
+    @Query(value = "SELECT c.* FROM cats c " +
+                   "WHERE c.user_id = :userId AND MATCH(c.name, c.breed) AGAINST (:query IN BOOLEAN MODE) " +
+                   "ORDER BY MATCH(c.name, c.breed) AGAINST (:query IN BOOLEAN MODE) DESC, c.id DESC",
+           countQuery = "SELECT COUNT(*) FROM cats c " +
+                        "WHERE c.user_id = :userId AND MATCH(c.name, c.breed) AGAINST (:query IN BOOLEAN MODE)",
+           nativeQuery = true)
+    Page<Cat> searchByFullText(@Param("userId") Long userId, @Param("query") String query, Pageable pageable);
+
+    /**
+     * [추가] ngram 토큰(2글자)보다 짧은 검색어용 - 사용자 고양이 범위 안에서만 LIKE
+     */
+    @Query("SELECT c FROM Cat c WHERE c.user.id = :userId " +
+           "AND (c.name LIKE CONCAT('%', :keyword, '%') OR c.breed LIKE CONCAT('%', :keyword, '%')) " +
+           "ORDER BY c.id DESC")
+    Page<Cat> searchByLike(@Param("userId") Long userId, @Param("keyword") String keyword, Pageable pageable);
 
-    // HealthStatus별 카운트
-    long countByHealthStatus(HealthStatus status);
+    /**
+     * [수정] 전체 고양이 통계를 한 번의 집계 쿼리로 계산 (기존 count / countByHealthStatus x2 / AVG 4회 왕복 대체)
+     */
+    @Query(STATS_SELECT + "FROM Cat c")
+    CatStatsAggregate aggregateStats();
 
-    // 평균 체중 (null 가능)
-    @Query("SELECT AVG(c.weight) FROM Cat c")
-    Double findAverageWeight();
-}
\ No newline at end of file
+    /**
+     * [추가] 특정 사용자의 고양이 통계 (한 번의 집계 쿼리)
+     */
+    @Query(STATS_SELECT + "FROM Cat c WHERE c.user.id = :userId")
+    CatStatsAggregate aggregateStatsByUserId(@Param("userId") Long userId);
+}
@@ -1,26 +1,46 @@
 package aivle0514.backspringboot.cat;
 
+import aivle0514.backspringboot.cat.exception.CatNotFoundException;
+import aivle0514.backspringboot.common.ETags;
+import aivle0514.backspringboot.config.CacheConfig;
 import aivle0514.backspringboot.user.User;
 import aivle0514.backspringboot.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Arrays;
 import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CatService {
 
+    private static final int NGRAM_TOKEN_SIZE = 2; // MySQL ngram_token_size 기본값
+    private static final Pattern SEARCH_UNSAFE = Pattern.compile("[+\\-<>()~*\"@]"); // BOOLEAN MODE 연산자
+
     private final CatRepository catRepository;
     private final UserRepository userRepository;
 
     /**
      * 새로운 고양이를 추가하는 서비스 메소드
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CAT_STATS, key = "'all'"),
+            @CacheEvict(cacheNames = CacheConfig.CAT_STATS, key = "#userId")
+    })
     @Transactional
-    public Cat addCat(CatDto.AddRequestCat requestCatDto, String userEmail) {
-        User currentUser = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+    public Cat addCat(CatDto.AddRequestCat requestCatDto, Long userId) {
+        // [수정] 외래키만 필요하므로 SELECT 없이 참조(프록시)만 가져옵니다.
+        User currentUser = userRepository.getReferenceById(userId);
 
         Cat newCat = Cat.builder()
                 .name(requestCatDto.getName()) 
@@ -36,31 +56,42 @@ public class CatService {
                 .build();
         return catRepository.save(newCat);
     }
+    /**
+     * [추가] 내 고양이 목록의 ETag (COUNT + MAX(updatedAt) 한 번, 목록은 읽지 않음)
+     */
     @Transactional(readOnly = true)
-    public List<Cat> findCatsByUser(String userEmail) {
-        User currentUser = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-        
-        return catRepository.findAllByUser(currentUser);
+    public String getCatListETag(Long userId) {
+        return ETags.of("cats", userId, catRepository.findVersionByUserId(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Cat> findCatsByUser(Long userId) {
+        return catRepository.findAllByUser_Id(userId);
+    }
+
+    /**
+     * [추가] 특정 사용자의 고양이 목록 요약 (id, 이름, 사진, 건강 상태)
+     */
+    @Transactional(readOnly = true)
+    public List<CatDto.Summary> findCatSummariesByUser(Long userId) {
+        return catRepository.findSummariesByUserId(userId);
     }
 
     // @param id
     // @param requestCatDto
-    // @param userEmail
+    // @param userId
     // @return
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CAT_STATS, key = "'all'"),
+            @CacheEvict(cacheNames = CacheConfig.CAT_STATS, key = "#userId")
+    })
     @Transactional
-    public Cat updateCat(Long id, CatDto.UpdateRequestCat requestCatDto, String userEmail) {
+    public Cat updateCat(Long id, CatDto.UpdateRequestCat requestCatDto, Long userId) {
     
-        Cat cat = catRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("해당 고양이를 찾을 수 없습니다."));
-
-        
-        if (!cat.getUser().getEmail().equals(userEmail)) {
-            // SecurityException보다는 권한 없음을 명확히 하는 사용자 정의 예외가 더 좋습니다.
-            throw new IllegalStateException("고양이를 수정할 권한이 없습니다.");
-        }
+        // [수정] id + 소유자 조건으로 한 번에 조회 (User 는 로드하지 않음)
+        Cat cat = catRepository.findByIdAndUser_Id(id, userId)
+                .orElseThrow(() -> missingOrForbidden(id, "수정할"));
 
-        
         cat.update(requestCatDto.getName(), requestCatDto.getBreed(), requestCatDto.getGender(), requestCatDto.getAge(),
         requestCatDto.getImage(),requestCatDto.getMemo(), requestCatDto.getWeight(),requestCatDto.getHealthStatus(),
         requestCatDto.getAiDataFile());
@@ -70,57 +101,86 @@ public class CatService {
     }
 
     // @param id
-    // @param userEmail
+    // @param userId
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CAT_STATS, key = "'all'"),
+            @CacheEvict(cacheNames = CacheConfig.CAT_STATS, key = "#userId")
+    })
     @Transactional
-    public void deleteCat(Long id, String userEmail) {
-        
-        Cat cat = catRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("해당 고양이를 찾을 수 없습니다."));
-        
-        // 2. 요청한 사용자가 장치의 소유주가 맞는지 확인합니다.
-        if (!cat.getUser().getEmail().equals(userEmail)) {
-            throw new IllegalStateException("고양이를 삭제할 권한이 없습니다.");
+    public void deleteCat(Long id, Long userId) {
+        // [수정] 엔티티를 읽지 않고 DELETE ... WHERE id = ? AND user_id = ? 한 번으로 삭제
+        if (catRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw missingOrForbidden(id, "삭제할");
         }
+    }
 
-        // 3. 고양를 삭제합니다.
-        catRepository.delete(cat);
+    // 소유자 조건에 걸린 경우에만 호출: 고양이가 존재하면 403, 없으면 404
+    private RuntimeException missingOrForbidden(Long id, String action) {
+        if (catRepository.existsById(id)) {
+            return new AccessDeniedException("고양이를 " + action + " 권한이 없습니다.");
+        }
+        return new CatNotFoundException("해당 고양이를 찾을 수 없습니다.");
     }
     /**
      * 이름/품종으로 검색
+     * [수정] 로그인한 사용자의 고양이만, FULLTEXT(ngram) 인덱스로 관련도순 페이지 조회
+     * 검색어의 모든 단어를 포함하는 고양이를 찾고, 2글자 미만 단어가 있으면 LIKE 로 대신 찾습니다.
      */
     @Transactional(readOnly = true)
-    public List<Cat> searchCats(String keyword) {
-        return catRepository.findByNameContainingOrBreedContaining(keyword, keyword);
+    public Page<Cat> searchCats(String keyword, Long userId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        String[] words = SEARCH_UNSAFE.matcher(keyword).replaceAll(" ").trim().split("\\s+");
+        if (words[0].isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        boolean indexable = Arrays.stream(words).allMatch(w -> w.length() >= NGRAM_TOKEN_SIZE);
+        if (!indexable) {
+            return catRepository.searchByLike(userId, keyword.trim(), pageable);
+        }
+        return catRepository.searchByFullText(userId, toBooleanQuery(words), pageable);
+    }
+
+    // 각 단어를 필수(+) 구문("...")으로: ngram 파서가 구문을 2글자 토큰 연속으로 매칭
+    private static String toBooleanQuery(String[] words) {
+        return Arrays.stream(words)
+                .map(w -> "+\"" + w + "\"")
+                .collect(Collectors.joining(" "));
     }
 
     /**
-     * 통계 반환
+     * 통계 반환 (전체 고양이)
+     * [수정] 집계 쿼리 1회 + 캐시. 고양이 추가/수정/삭제 시 캐시에서 제거됩니다.
      */
+    @Cacheable(cacheNames = CacheConfig.CAT_STATS, key = "'all'")
     @Transactional(readOnly = true)
     public CatStatsDto getCatStats() {
-        long total = catRepository.count();
-        long healthy = catRepository.countByHealthStatus(HealthStatus.healthy);
-        long attention = catRepository.countByHealthStatus(HealthStatus.caution);
-        Double avgWeightObj = catRepository.findAverageWeight();
-        double avgWeight = (avgWeightObj == null) ? 0.0 : avgWeightObj;
-        return new CatStatsDto(total, healthy, attention, avgWeight);
+        return toStatsDto(catRepository.aggregateStats());
     }
 
+    /**
+     * [추가] 통계 반환 (로그인한 사용자의 고양이)
+     */
+    @Cacheable(cacheNames = CacheConfig.CAT_STATS, key = "#userId")
     @Transactional(readOnly = true)
-    public Cat findCatByUser(Long id, String userEmail) {
-    User currentUser = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-    Cat cat = catRepository.findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("해당 고양이를 찾을 수 없습니다."));
+    public CatStatsDto getCatStatsByUser(Long userId) {
+        return toStatsDto(catRepository.aggregateStatsByUserId(userId));
+    }
 
-    // 해당 고양이가 요청한 사용자의 소유인지 확인
-    if (!cat.getUser().getEmail().equals(userEmail)) {
-        throw new IllegalStateException("권한이 없는 고양이입니다.");
+    private CatStatsDto toStatsDto(CatStatsAggregate row) {
+        return new CatStatsDto(
+                row.getTotalCats(),
+                row.getHealthyCats() == null ? 0 : row.getHealthyCats(),
+                row.getAttentionCats() == null ? 0 : row.getAttentionCats(),
+                row.getAverageWeight() == null ? 0.0 : row.getAverageWeight());
     }
 
-    return cat;
+    @Transactional(readOnly = true)
+    public Cat findCatByUser(Long id, Long userId) {
+    // 해당 고양이가 요청한 사용자의 소유인지 조회 조건으로 확인
+    return catRepository.findByIdAndUser_Id(id, userId)
+            .orElseThrow(() -> missingOrForbidden(id, "조회할"));
 }
 
     // Cat insertCat(Cat cat);
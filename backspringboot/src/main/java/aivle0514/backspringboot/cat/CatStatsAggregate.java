@@ -0,0 +1,12 @@
+package aivle0514.backspringboot.cat;
+
+/**
+ * [추가] 고양이 통계 DB 집계 결과 (CatRepository 인터페이스 프로젝션)
+ * SELECT COUNT(*), SUM(health_status = 'healthy'), SUM(health_status = 'caution'), AVG(weight) FROM cats [WHERE ...]
+ */
+public interface CatStatsAggregate {
+    Long getTotalCats();
+    Long getHealthyCats();   // 고양이가 없으면 null
+    Long getAttentionCats(); // 고양이가 없으면 null
+    Double getAverageWeight(); // 체중 값이 하나도 없으면 null
+}
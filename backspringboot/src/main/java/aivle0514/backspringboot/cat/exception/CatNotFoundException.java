@@ -1,7 +1,11 @@
 package aivle0514.backspringboot.cat.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND) // [추가] 컨트롤러 밖으로 던져지면 404
 public class CatNotFoundException extends RuntimeException {
     public CatNotFoundException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
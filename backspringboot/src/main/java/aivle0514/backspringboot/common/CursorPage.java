@@ -0,0 +1,61 @@
+package aivle0514.backspringboot.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서(키셋) 기반 페이지 응답
+ * COUNT(*) 없이 마지막 행의 정렬 키를 다음 요청의 커서로 넘겨주므로 깊은 페이지도 첫 페이지와 비용이 같습니다.
+ *
+ * @param items      이번 페이지 항목
+ * @param nextCursor 다음 페이지 요청 시 그대로 넘길 커서 (마지막 페이지면 null)
+ * @param hasNext    다음 페이지 존재 여부
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasNext) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * size + 1 개를 조회한 결과로 페이지를 만듭니다. 초과분 1개는 hasNext 판단에만 쓰고 버립니다.
+     */
+    public static <E, T> CursorPage<T> of(List<E> fetched, int size,
+                                          Function<E, T> mapper,
+                                          Function<E, String> cursorOf) {
+        boolean hasNext = fetched.size() > size;
+        List<E> page = hasNext ? fetched.subList(0, size) : fetched;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+
+    // 정렬 키들을 URL-safe 한 불투명 문자열로 인코딩
+    public static String encode(Object... keys) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) sb.append(SEPARATOR);
+            sb.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서를 정렬 키 배열로 풀어 parser 로 변환합니다. 형식이 맞지 않으면 400 을 돌려줍니다.
+     */
+    public static <R> R decode(String cursor, int expectedKeys, Function<String[], R> parser) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\" + SEPARATOR, -1);
+            if (keys.length != expectedKeys) {
+                throw new IllegalArgumentException("cursor key count mismatch");
+            }
+            return parser.apply(keys);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 cursor 값입니다.");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package aivle0514.backspringboot.common;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 조건부 GET(If-None-Match) 용 강한 ETag 생성
+ * 응답 본문 대신 VersionStamp(COUNT + MAX(updatedAt) 등)로 계산하므로, 컨트롤러에서
+ * checkNotModified 가 true 면 목록 조회/직렬화 없이 304 로 끝낼 수 있습니다.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * If-None-Match 가 etag 와 같으면 304 를 설정하고 true 를 반환합니다. (컨트롤러는 null 반환)
+     * Spring Security 기본값(no-store)이면 브라우저가 응답을 저장하지 않아 If-None-Match 를 보내지 않으므로,
+     * "private, no-cache"(저장하되 매번 재검증)로 바꿉니다.
+     */
+    public static boolean checkNotModified(WebRequest request, String etag) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            HttpServletResponse response = servletRequest.getResponse();
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        return request.checkNotModified(etag);
+    }
+
+    /**
+     * @param resource 리소스 이름 (예: "cats")
+     * @param scope    응답을 가르는 값 (사용자 id 등) - 다른 사용자의 캐시와 섞이지 않도록 포함
+     * @param version  목록 버전
+     * @return 따옴표 없는 ETag 값 (checkNotModified 가 따옴표를 붙임)
+     */
+    public static String of(String resource, Object scope, VersionStamp version) {
+        String source = resource + "|" + scope + "|" + version.getTotal() + "|" + version.getLatest();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+}
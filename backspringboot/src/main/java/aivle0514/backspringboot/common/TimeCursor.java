@@ -0,0 +1,15 @@
+package aivle0514.backspringboot.common;
+
+import java.time.LocalDateTime;
+
+/**
+ * [추가] (createdAt, id) 최신순 키셋 커서 - 게시글/문의 무한 스크롤에서 함께 사용
+ * 인코딩은 CursorPage.encode(createdAt, id) 와 같습니다.
+ */
+public record TimeCursor(LocalDateTime createdAt, Long id) {
+
+    public static TimeCursor decode(String cursor) {
+        return CursorPage.decode(cursor, 2,
+                keys -> new TimeCursor(LocalDateTime.parse(keys[0]), Long.valueOf(keys[1])));
+    }
+}
@@ -0,0 +1,13 @@
+package aivle0514.backspringboot.common;
+
+/**
+ * 목록의 "버전" (ETag 계산용 집계 결과)
+ * 예: SELECT COUNT(x) AS total, MAX(x.updatedAt) AS latest ...
+ * 행이 추가/삭제되면 total 이, 수정되면 latest 가 바뀝니다.
+ */
+public interface VersionStamp {
+
+    Long getTotal();
+
+    Object getLatest(); // MAX(updatedAt) 또는 MAX(id), 행이 없으면 null
+}
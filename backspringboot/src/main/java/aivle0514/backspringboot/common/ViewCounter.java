@@ -0,0 +1,198 @@
+package aivle0514.backspringboot.common;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [추가] 게시판 조회수 write-behind 카운터
+ * 조회할 때마다 엔티티(@Lob content 포함)를 읽고 UPDATE 하는 대신, 글 id 별 카운터에 더해 두었다가
+ * flush-interval 마다 게시판별로 "UPDATE ... SET views = views + ? WHERE id = ?" 를 JDBC 배치로 한 번에 반영합니다.
+ * 인기 글도 행 잠금은 주기당 한 번뿐입니다.
+ *
+ * 아직 반영되지 않은 조회수는 withPending 으로 응답에 더해 주므로, 화면의 조회수는 줄어들지 않습니다.
+ * 배치는 한 트랜잭션으로 실행하고 대기분은 커밋된 뒤에야 빼므로, 반영에 실패해도 잃거나 두 번 더하지 않고 다음 주기에 다시 시도합니다.
+ *
+ * [수정] 반영할 때 updated_at 을 건드리거나 목록 캐시를 비우지 않고, 게시판별 반영 세대(generation)를 올립니다.
+ * 목록 캐시 키와 목록 ETag 에 세대를 넣으므로 반영 뒤에는 새 키로 읽고, 이전 세대 캐시는 만료 시간에 사라집니다.
+ * 세대는 커밋 직전에 홀수, 대기분을 뺀 뒤 짝수가 됩니다. 읽기 시작할 때의 세대가 대기분을 더하는 시점까지 같으면
+ * DB(또는 캐시) 값과 대기분이 같은 반영 기준이고, 다르면 그 글의 views 만 다시 읽습니다. (잠금 없이 드물게 재시도)
+ */
+@Slf4j
+@Component
+public class ViewCounter {
+
+    /** 조회수를 세는 게시판 */
+    public enum Board {
+        POSTS("posts"),
+        NOTICES("notices"),
+        QUESTIONS("questions");
+
+        private final String updateSql;
+        private final String selectSql;
+
+        Board(String table) {
+            this.updateSql = "UPDATE " + table + " SET views = views + ? WHERE id = ?";
+            this.selectSql = "SELECT views FROM " + table + " WHERE id = ?";
+        }
+    }
+
+    private static final long RETIRED = -1L; // 지워진 카운터 표시 - 여기에 더하려던 increment 는 새 카운터에 다시 더함
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate outsideTransaction; // 호출한 쪽 트랜잭션의 스냅샷이 아닌 최신 값을 읽기 위함
+    private final Map<Board, ConcurrentHashMap<Long, AtomicLong>> pending = new EnumMap<>(Board.class);
+    private final Map<Board, AtomicLong> generations = new EnumMap<>(Board.class);
+
+    public ViewCounter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outsideTransaction = new TransactionTemplate(transactionManager);
+        this.outsideTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        for (Board board : Board.values()) {
+            pending.put(board, new ConcurrentHashMap<>());
+            generations.put(board, new AtomicLong());
+        }
+    }
+
+    public void increment(Board board, Long id) {
+        ConcurrentHashMap<Long, AtomicLong> counters = pending.get(board);
+        while (true) {
+            AtomicLong counter = counters.get(id); // 이미 있으면 잠금 없이
+            if (counter == null) {
+                counter = counters.computeIfAbsent(id, k -> new AtomicLong());
+            }
+            long views = counter.get();
+            if (views == RETIRED) {
+                counters.remove(id, counter); // 지워지는 중인 카운터 - 새로 만들어 다시 시도
+                continue;
+            }
+            if (counter.compareAndSet(views, views + 1)) {
+                return;
+            }
+        }
+    }
+
+    /** 아직 DB 에 반영되지 않은 조회수 */
+    public int pendingViews(Board board, Long id) {
+        AtomicLong counter = pending.get(board).get(id);
+        long views = counter == null ? 0 : counter.get();
+        return views == RETIRED ? 0 : (int) views;
+    }
+
+    /** 반영 세대 - 목록 캐시 키/ETag 에 넣고, 조회수를 읽기 전에 받아 두었다가 withPending 에 넘김 */
+    public long generation(Board board) {
+        return generations.get(board).get();
+    }
+
+    /**
+     * DB(또는 캐시)에서 읽은 views 에 대기분을 더합니다.
+     * @param generation views 를 읽기 전에 받은 generation() 값
+     */
+    public int withPending(Board board, Long id, int views, long generation) {
+        AtomicLong current = generations.get(board);
+        int pendingViews = pendingViews(board, id);
+        if (generation % 2 == 0 && current.get() == generation) {
+            return views + pendingViews;
+        }
+        // 읽는 사이 반영이 커밋됨 - views 가 반영 전/후 어느 값인지 알 수 없으므로 그 글만 다시 읽음
+        while (true) {
+            long stable = current.get();
+            if (stable % 2 != 0) {
+                Thread.yield(); // 커밋 중 (커밋 한 번의 왕복 동안만)
+                continue;
+            }
+            Integer fresh;
+            try {
+                fresh = outsideTransaction.execute(status -> jdbcTemplate.queryForObject(board.selectSql, Integer.class, id));
+            } catch (EmptyResultDataAccessException e) {
+                return views + pendingViews; // 그 사이 삭제된 글
+            }
+            pendingViews = pendingViews(board, id);
+            if (current.get() == stable) {
+                return fresh + pendingViews;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${board.views.flush-interval:5s}")
+    @PreDestroy // 정상 종료 시 남은 조회수 반영
+    public synchronized void flush() {
+        for (Board board : Board.values()) {
+            flush(board);
+        }
+    }
+
+    private void flush(Board board) {
+        ConcurrentHashMap<Long, AtomicLong> counters = pending.get(board);
+        List<Object[]> batch = new ArrayList<>();
+        List<AtomicLong> flushed = new ArrayList<>();
+        for (Map.Entry<Long, AtomicLong> entry : counters.entrySet()) {
+            AtomicLong counter = entry.getValue();
+            long delta = counter.get();
+            if (delta > 0) {
+                batch.add(new Object[]{delta, entry.getKey()});
+                flushed.add(counter);
+            } else if (delta == 0 && counter.compareAndSet(0, RETIRED)) {
+                // 한 주기 동안 조회가 없던 글은 제거 (0 일 때만 표시하므로, 그 사이 들어온 increment 는 새 카운터로 감)
+                counters.remove(entry.getKey(), counter);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        AtomicLong generation = generations.get(board);
+        try {
+            // 배치 전체를 한 트랜잭션으로 - 중간에 실패하면 앞선 UPDATE 도 롤백되어 다음 주기에 다시 더해도 중복되지 않음
+            transactionTemplate.executeWithoutResult(status -> {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    private boolean committing;
+
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        committing = true;
+                        generation.incrementAndGet(); // 홀수: 커밋 중
+                    }
+
+                    @Override
+                    public void afterCompletion(int completion) {
+                        if (completion == STATUS_COMMITTED) {
+                            // 커밋된 만큼만 대기분에서 뺌 (그 사이 들어온 조회는 남음)
+                            for (int i = 0; i < batch.size(); i++) {
+                                flushed.get(i).addAndGet(-(Long) batch.get(i)[0]);
+                            }
+                        } else if (completion == STATUS_UNKNOWN) {
+                            log.warn("{} 조회수 반영 커밋 결과를 알 수 없어 대기분을 유지합니다 ({}건)", board, batch.size());
+                        }
+                        if (committing) {
+                            generation.incrementAndGet(); // 짝수: 새 세대
+                        }
+                    }
+                });
+                jdbcTemplate.batchUpdate(board.updateSql, batch);
+            });
+        } catch (DataAccessException | TransactionException e) {
+            // 롤백되어 대기분을 빼지 않았으므로 다음 주기에 그대로 다시 시도
+            log.warn("{} 조회수 반영 실패 ({}건), 다음 주기에 다시 시도합니다: {}", board, batch.size(), e.getMessage());
+        }
+    }
+}
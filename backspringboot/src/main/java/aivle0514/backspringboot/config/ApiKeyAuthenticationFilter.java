@@ -0,0 +1,50 @@
+package aivle0514.backspringboot.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * [추가] 서비스 간 호출(collectionservice → 이벤트 일괄 수집)용 X-API-Key 인증 필터
+ * 지정한 경로에서 헤더 값이 설정된 키와 같으면 ROLE_INGEST 권한으로 인증합니다.
+ * 키가 없거나 다르면 아무것도 하지 않으며, 이후 인가 단계에서 401 이 됩니다. (본문을 읽기 전에 거절)
+ */
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-API-Key";
+
+    private final String path;
+    private final byte[] apiKey;
+
+    public ApiKeyAuthenticationFilter(String path, String apiKey) {
+        this.path = path;
+        this.apiKey = apiKey == null ? new byte[0] : apiKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HEADER);
+        // 키가 설정되지 않은 환경(빈 값)에서는 항상 거절, 비교는 상수 시간
+        if (apiKey.length > 0 && header != null
+                && MessageDigest.isEqual(apiKey, header.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                    "collectionservice", null, AuthorityUtils.createAuthorityList("ROLE_INGEST")));
+        }
+        chain.doFilter(request, response);
+    }
+}
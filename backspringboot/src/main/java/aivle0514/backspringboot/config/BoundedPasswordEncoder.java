@@ -0,0 +1,107 @@
+package aivle0514.backspringboot.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * [추가] 비밀번호 해시 계산을 전용 스레드 풀에서만 수행하는 PasswordEncoder
+ * BCrypt 등은 의도적으로 CPU 를 많이 쓰므로, 배포 직후 로그인이 몰리면 Tomcat 요청 스레드 수만큼 동시에 해시를 계산해 CPU 가 포화됩니다.
+ * 여기서는 동시 계산 수를 threads 로, 대기 수를 queueCapacity 로 제한하고 넘치면 즉시 거절(503)합니다.
+ * 요청 스레드는 결과를 기다리기만 하므로 다른 API 처리에 쓸 CPU 가 남습니다.
+ *
+ * 지표: executor.* (name="auth.password"), auth.password.rejected, auth.password.hash (계산 시간)
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    /** 해시 대기열이 가득 차 거절됨 - 로그인 실패 핸들러/MVC 에서 503 으로 응답 */
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public static class PasswordHashingRejectedException extends AuthenticationServiceException {
+        public PasswordHashingRejectedException() {
+            super("로그인 요청이 많아 잠시 후 다시 시도해 주세요.");
+        }
+    }
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+    private final Timer hashTimer;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "auth.password", List.of());
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("해시 대기열이 가득 차 거절된 비밀번호 해시 요청 수")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.password.hash")
+                .description("비밀번호 해시 계산 시간 (대기 제외)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // 해시 접두사/cost 만 확인 (계산 없음)
+    }
+
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("비밀번호 확인이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new AuthenticationServiceException("비밀번호 확인에 실패했습니다.", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package aivle0514.backspringboot.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * [추가] 애플리케이션 캐시 (Caffeine, JVM 로컬)
+ * 캐시마다 크기/만료를 따로 지정하고, 여기 등록하지 않은 이름은 사용할 수 없습니다. (오타 방지)
+ * 트랜잭션 안에서의 put/evict 는 커밋 후에 반영되어, 커밋 전 데이터가 다시 캐시되는 일을 막습니다.
+ * 적중률은 /actuator/metrics/cache.gets?tag=cache:<이름> 으로 확인합니다.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CAT_STATS = "catStats"; // 고양이 통계 (key: 'all' 또는 사용자 id)
+    public static final String USERS = "users";        // [추가] 사용자 정보 UserSnapshot (key: 이메일)
+    // [추가] 게시판 목록 앞쪽 페이지 (key: 조회수 반영 세대:카테고리/상태:size:page, 게시판 글이 바뀌면 해당 게시판 전체 evict)
+    public static final String POST_PAGES = "postPages";
+    public static final String NOTICE_PAGES = "noticePages";
+    public static final String QUESTION_PAGES = "questionPages";
+    public static final int BOARD_CACHED_PAGES = 3;      // page 0 ~ 2 만 캐시
+    public static final int BOARD_CACHED_MAX_SIZE = 50;  // 이보다 큰 size 요청은 캐시하지 않음
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCacheNames(List.of());
+        caffeine.setAllowNullValues(false);
+        // 변경 시 evict 로 갱신하며, 만료 시간은 다른 경로(사용자 탈퇴 cascade 등)로 바뀐 데이터에 대한 안전장치
+        caffeine.registerCustomCache(CAT_STATS, Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .recordStats()
+                .build());
+        // [추가] 로그인/마이페이지 조회용. 변경 시 evict, 만료 시간은 DB 를 직접 고친 경우 등에 대한 안전장치
+        caffeine.registerCustomCache(USERS, Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .recordStats()
+                .build());
+        // [추가] 게시판 목록: 변경 시 evict. 조회수는 evict 하지 않고, 반영될 때마다 키의 세대가 바뀌어 새로 읽음 (이전 세대 항목은 만료 시간에 정리)
+        for (String board : List.of(POST_PAGES, NOTICE_PAGES, QUESTION_PAGES)) {
+            caffeine.registerCustomCache(board, Caffeine.newBuilder()
+                    .maximumSize(1_000)
+                    .expireAfterWrite(Duration.ofSeconds(30))
+                    .recordStats()
+                    .build());
+        }
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -1,27 +1,47 @@
 package aivle0514.backspringboot.config;
 
+import aivle0514.backspringboot.auth.JwtTokenService;
+import aivle0514.backspringboot.user.AuthUser;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    // [추가] collectionservice 등 내부 서비스용 API 키 (비어 있으면 /api/events/ingest 는 항상 401)
+    @Value("${events.ingest.api-key:}")
+    private String ingestApiKey;
+
+    // [추가] 인증 방식: session (기본, HTTP 세션) | token (JWT, 서버에 상태 없음 - 여러 인스턴스에서 sticky session 불필요)
+    @Value("${security.auth.mode:session}")
+    private String authMode;
+
     // 추가-jks : 보안 무시 목록
     @Bean
     public WebSecurityCustomizer webSecurityCustomizer() {
@@ -30,10 +50,16 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   ObjectProvider<JwtTokenService> tokenServiceProvider) throws Exception {
+    // token 모드일 때만 존재 (JwtTokenService 는 @ConditionalOnProperty)
+    final JwtTokenService tokenService = "token".equals(authMode) ? tokenServiceProvider.getObject() : null;
+
     http
         .cors(c -> c.configurationSource(corsConfigurationSource()))
         .csrf(csrf -> csrf.disable())
+        .addFilterBefore(new ApiKeyAuthenticationFilter("/api/events/ingest", ingestApiKey),
+                UsernamePasswordAuthenticationFilter.class)
 
         .exceptionHandling(e -> e
             .authenticationEntryPoint((req, res, ex) -> {
@@ -50,28 +76,68 @@ public class SecurityConfig {
             .successHandler((req, res, auth) -> {
                 res.setStatus(200);
                 res.setContentType("application/json;charset=UTF-8");
+                if (tokenService != null) {
+                    // [추가] token 모드: 세션 대신 토큰 발급 (본문 + HttpOnly 쿠키, 브라우저는 쿠키만으로 동작)
+                    JwtTokenService.IssuedToken token = tokenService.issue((AuthUser) auth.getPrincipal());
+                    res.addHeader(HttpHeaders.SET_COOKIE, tokenService.cookie(token, req.isSecure()).toString());
+                    res.getWriter().write("{\"message\":\"로그인 성공\",\"accessToken\":\"" + token.value()
+                            + "\",\"expiresAt\":\"" + token.expiresAt() + "\"}");
+                    return;
+                }
                 res.getWriter().write("{\"message\":\"로그인 성공\"}");
             })
             .failureHandler((req, res, ex) -> {
+                if (ex instanceof BoundedPasswordEncoder.PasswordHashingRejectedException) {
+                    // [추가] 해시 대기열 초과 - 비밀번호가 틀린 것이 아니므로 401 대신 503
+                    res.setStatus(503);
+                    res.setHeader("Retry-After", "1");
+                    res.setContentType("application/json;charset=UTF-8");
+                    res.getWriter().write("{\"error\":\"" + ex.getMessage() + "\"}");
+                    return;
+                }
                 res.setStatus(401);
                 res.setContentType("application/json;charset=UTF-8");
                 res.getWriter().write("{\"error\":\"이메일 또는 비밀번호가 올바르지 않습니다.\"}");
             })
         )
 
-        .logout(l -> l
-            .logoutUrl("/api/user/logout")
-            .logoutSuccessHandler((req, res, auth) -> res.setStatus(200))
-        )
+        .logout(l -> {
+            l.logoutUrl("/api/user/logout")
+             .logoutSuccessHandler((req, res, auth) -> res.setStatus(200));
+            if (tokenService != null) {
+                // [추가] token 모드: 토큰을 만료 시각까지 폐기 목록에 올리고 쿠키 삭제
+                l.addLogoutHandler((req, res, auth) -> {
+                    tokenService.revoke(req);
+                    res.addHeader(HttpHeaders.SET_COOKIE, tokenService.clearCookie(req.isSecure()).toString());
+                });
+            }
+        })
 
         .authorizeHttpRequests(auth -> auth
             .requestMatchers("/api/user/signup", "/api/user/login", "/api/user/reset-password").permitAll()
-            .requestMatchers("/api/upload/cat-image").permitAll() // 추가-jks : 이미지 업로드 API와 정적리소스는 인증없이 허용(고양이프로필사진)
+            .requestMatchers("/api/upload/cat-image", "/api/upload/cat-image/stream").permitAll() // 추가-jks : 이미지 업로드 API와 정적리소스는 인증없이 허용(고양이프로필사진)
+            .requestMatchers(HttpMethod.POST, "/api/events/ingest").hasRole("INGEST") // [추가] X-API-Key 로만 호출 가능
             .requestMatchers("/api/events/**").authenticated() // /api/events/ 로 시작하는 모든 경로는 인증된 사용자만 허용
             .requestMatchers("/api/user/**").authenticated()
             .anyRequest().authenticated()
         );
 
+    if (tokenService != null) {
+        // [추가] 세션을 만들지도 읽지도 않고, 요청마다 토큰 서명을 로컬에서 검증
+        http
+            .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .oauth2ResourceServer(o -> o
+                .bearerTokenResolver(tokenService.bearerTokenResolver())
+                .authenticationEntryPoint((req, res, ex) -> {
+                    res.setStatus(401);
+                    res.setContentType("application/json;charset=UTF-8");
+                    res.getWriter().write("{\"error\":\"unauthorized\"}");
+                })
+                .jwt(jwt -> jwt
+                    .decoder(tokenService.getDecoder())
+                    .jwtAuthenticationConverter(tokenService.authenticationConverter())));
+    }
+
     return http.build();
 }
     // CORS 설정
@@ -89,8 +155,32 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * [수정] 비밀번호 인코더
+     * - 새 해시는 security.password.encoder(bcrypt | pbkdf2) 로 "{id}해시" 형식으로 저장하고,
+     *   접두사 없는 기존 BCrypt 해시도 그대로 검증합니다.
+     * - 로그인 성공 시 해시가 현재 알고리즘/cost 와 다르면 DaoAuthenticationProvider 가
+     *   UserService.updatePassword 로 새 해시를 저장합니다. (cost 를 올려도 사용자가 로그인하는 대로 점진적으로 반영)
+     * - 실제 계산은 BoundedPasswordEncoder 의 전용 스레드 풀에서만 수행합니다.
+     *   [수정] 기본 스레드 수는 코어의 절반 - 로그인이 몰려도 나머지 요청을 처리할 CPU 를 남겨 둠
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.encoder:bcrypt}") String encodingId,
+                                           @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+                                           @Value("${security.password.hash-threads:0}") int hashThreads,
+                                           @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                                           MeterRegistry meterRegistry) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(encodingId)) {
+            throw new IllegalArgumentException("security.password.encoder 는 " + encoders.keySet() + " 중 하나여야 합니다: " + encodingId);
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encodingId, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt); // 접두사 없는 기존 해시
+
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(delegating, threads, queueCapacity, meterRegistry);
     }
 }
\ No newline at end of file
@@ -12,6 +12,18 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // [추가] 썸네일: 파일명이 원본 내용의 해시라 내용이 바뀌지 않으므로 1년 immutable 캐시
+        registry.addResourceHandler("/public/thumbs/**")
+            .addResourceLocations("file:/app/public/thumbs/")
+            .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+            .resourceChain(true);
+
+        // [추가] 업로드 원본: 경로가 내용의 SHA-256 이라 같은 URL 의 내용은 절대 바뀌지 않으므로 1년 immutable 캐시
+        registry.addResourceHandler("/public/objects/**")
+            .addResourceLocations("file:/app/public/objects/")
+            .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+            .resourceChain(true);
+
         // 브라우저 요청 경로:  https://<host>/public/** 
         registry.addResourceHandler("/public/**")
             .addResourceLocations("file:/app/public/")  // 끝 슬래시 권장
@@ -8,6 +8,8 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Setter
 @Entity
 @Getter
@@ -34,6 +36,15 @@ public class Device {
     @JoinColumn(name = "user_id") // DB에 user_id 외래키 생성
     private User user;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt; // [추가] 마지막 생성/수정 시각 (목록 ETag 계산용)
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
     @Builder
     public Device(String devicename, String type, String wifiName, String location, User user) {
         this.devicename = devicename;
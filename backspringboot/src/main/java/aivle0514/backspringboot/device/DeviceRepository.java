@@ -1,11 +1,29 @@
 // src/main/java/aivle0514/backspringboot/device/DeviceRepository.java
 package aivle0514.backspringboot.device;
+import aivle0514.backspringboot.common.VersionStamp;
 import aivle0514.backspringboot.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DeviceRepository extends JpaRepository<Device, Long> {
     List<Device> findAllByUser(User user);
+    List<Device> findAllByUser_Id(Long userId); // [추가] User 를 조회하지 않고 user_id 로 바로 조회
+
+    // [추가] 내 장치 목록의 버전 (ETag 용, 목록을 읽지 않고 COUNT/MAX 만)
+    @Query("SELECT COUNT(d) AS total, MAX(d.updatedAt) AS latest FROM Device d WHERE d.user.id = :userId")
+    VersionStamp findVersionByUserId(@Param("userId") Long userId);
+
+    // [추가] 소유자 조건을 포함한 단건 조회 (SQL: SELECT * FROM devices WHERE id = ? AND user_id = ?)
+    Optional<Device> findByIdAndUser_Id(Long id, Long userId);
+
+    // [추가] 소유자 조건을 포함한 삭제, 삭제된 행 수 반환 (SQL: DELETE FROM devices WHERE id = ? AND user_id = ?)
+    @Modifying
+    @Query("DELETE FROM Device d WHERE d.id = :id AND d.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
\ No newline at end of file
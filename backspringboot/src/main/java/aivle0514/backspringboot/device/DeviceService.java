@@ -1,8 +1,11 @@
 package aivle0514.backspringboot.device;
 
+import aivle0514.backspringboot.common.ETags;
+import aivle0514.backspringboot.device.exception.DeviceNotFoundException;
 import aivle0514.backspringboot.user.User;
 import aivle0514.backspringboot.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -18,9 +21,9 @@ public class DeviceService {
      * 새로운 장치를 추가하는 서비스 메소드
      */
     @Transactional
-    public Device addDevice(DeviceDto.AddRequest requestDto, String userEmail) {
-        User currentUser = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+    public Device addDevice(DeviceDto.AddRequest requestDto, Long userId) {
+        // [수정] 외래키만 필요하므로 SELECT 없이 참조(프록시)만 가져옵니다.
+        User currentUser = userRepository.getReferenceById(userId);
 
         Device newDevice = Device.builder()
                 .devicename(requestDto.getDevicename()) // devicename -> name으로 통일하는 것이 좋습니다.
@@ -33,37 +36,36 @@ public class DeviceService {
         return deviceRepository.save(newDevice);
     }
 
+    /**
+     * [추가] 내 장치 목록의 ETag (COUNT + MAX(updatedAt) 한 번, 목록은 읽지 않음)
+     */
+    @Transactional(readOnly = true)
+    public String getDeviceListETag(Long userId) {
+        return ETags.of("devices", userId, deviceRepository.findVersionByUserId(userId));
+    }
+
     /**
      * 특정 사용자의 모든 장치를 조회하는 서비스 메소드
      */
     @Transactional(readOnly = true)
-    public List<Device> findDevicesByUser(String userEmail) {
-        User currentUser = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-        
-        return deviceRepository.findAllByUser(currentUser);
+    public List<Device> findDevicesByUser(Long userId) {
+        return deviceRepository.findAllByUser_Id(userId);
     }
 
     /**
      * [추가] 장치 정보를 수정하는 서비스 메소드
      * @param deviceId 수정할 장치의 ID
      * @param requestDto 수정할 정보가 담긴 Dto
-     * @param userEmail 요청한 사용자의 이메일
+     * @param userId 요청한 사용자의 ID
      * @return 수정된 장치 정보
      */
     @Transactional
-    public Device updateDevice(Long deviceId, DeviceDto.UpdateRequest requestDto, String userEmail) {
-        // 1. 장치 ID로 장치를 찾습니다. 없으면 예외를 발생시킵니다.
-        Device device = deviceRepository.findById(deviceId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 장치를 찾을 수 없습니다."));
+    public Device updateDevice(Long deviceId, DeviceDto.UpdateRequest requestDto, Long userId) {
+        // 1. [수정] 장치 ID + 소유자 조건으로 한 번에 찾습니다. 없으면 404, 남의 장치면 403
+        Device device = deviceRepository.findByIdAndUser_Id(deviceId, userId)
+                .orElseThrow(() -> missingOrForbidden(deviceId, "수정할"));
 
-        // 2. 요청한 사용자가 장치의 소유주가 맞는지 확인합니다.
-        if (!device.getUser().getEmail().equals(userEmail)) {
-            // SecurityException보다는 권한 없음을 명확히 하는 사용자 정의 예외가 더 좋습니다.
-            throw new IllegalStateException("장치를 수정할 권한이 없습니다.");
-        }
-
-        // 3. Dto로부터 받은 정보로 장치 내용을 업데이트합니다.
+        // 2. Dto로부터 받은 정보로 장치 내용을 업데이트합니다.
         device.update(requestDto.getDevicename(), requestDto.getType(), requestDto.getWifiName(), requestDto.getLocation());
         
         // @Transactional 어노테이션의 더티 체킹 기능으로 인해 save를 호출할 필요가 없습니다.
@@ -73,20 +75,21 @@ public class DeviceService {
     /**
      * [추가] 장치를 삭제하는 서비스 메소드
      * @param deviceId 삭제할 장치의 ID
-     * @param userEmail 요청한 사용자의 이메일
+     * @param userId 요청한 사용자의 ID
      */
     @Transactional
-    public void deleteDevice(Long deviceId, String userEmail) {
-        // 1. 장치 ID로 장치를 찾습니다.
-        Device device = deviceRepository.findById(deviceId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 장치를 찾을 수 없습니다."));
-        
-        // 2. 요청한 사용자가 장치의 소유주가 맞는지 확인합니다.
-        if (!device.getUser().getEmail().equals(userEmail)) {
-            throw new IllegalStateException("장치를 삭제할 권한이 없습니다.");
+    public void deleteDevice(Long deviceId, Long userId) {
+        // [수정] 엔티티를 읽지 않고 DELETE ... WHERE id = ? AND user_id = ? 한 번으로 삭제합니다.
+        if (deviceRepository.deleteByIdAndUserId(deviceId, userId) == 0) {
+            throw missingOrForbidden(deviceId, "삭제할");
         }
+    }
 
-        // 3. 장치를 삭제합니다.
-        deviceRepository.delete(device);
+    // 소유자 조건에 걸린 경우에만 호출: 장치가 존재하면 403, 없으면 404
+    private RuntimeException missingOrForbidden(Long deviceId, String action) {
+        if (deviceRepository.existsById(deviceId)) {
+            return new AccessDeniedException("장치를 " + action + " 권한이 없습니다.");
+        }
+        return new DeviceNotFoundException("해당 장치를 찾을 수 없습니다.");
     }
 }
\ No newline at end of file
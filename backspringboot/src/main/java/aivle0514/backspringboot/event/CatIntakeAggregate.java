@@ -0,0 +1,12 @@
+package aivle0514.backspringboot.event;
+
+/**
+ * [추가] 고양이 + 이벤트 종류별 DB 집계 결과 (EventRepository 인터페이스 프로젝션)
+ * SELECT cat_name, event_type, SUM(weight_grams), COUNT(*) ... GROUP BY cat_name, event_type
+ */
+public interface CatIntakeAggregate {
+    String getCatName();
+    String getEventType();
+    Double getTotalWeight(); // weight_grams 가 모두 NULL 이면 null
+    Long getEventCount();
+}
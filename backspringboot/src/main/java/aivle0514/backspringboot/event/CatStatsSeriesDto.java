@@ -0,0 +1,29 @@
+package aivle0514.backspringboot.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * [추가] 고양이별 기간 통계 시계열 DTO
+ * 요청 구간의 모든 버킷을 빠짐없이 담습니다. (이벤트가 없는 버킷은 0)
+ */
+@Getter
+@AllArgsConstructor
+public class CatStatsSeriesDto {
+    private String catName;              // 고양이 이름
+    private List<BucketStatsDto> series; // 버킷 시작 시각 오름차순
+
+    /**
+     * 시계열의 한 버킷 (DailyCatStatsDto 와 같은 합계 필드 + 버킷 시작 시각)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class BucketStatsDto {
+        private LocalDateTime bucketStart; // 버킷 시작 시각 (hour: 정시, day: 00:00, week: 월요일 00:00)
+        private double totalWaterIntake;   // 총 음수량
+        private double totalFoodIntake;    // 총 식사량
+    }
+}
@@ -8,12 +8,15 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import java.time.LocalDateTime;
+import java.util.regex.Pattern;
 
 @Getter // 모든 필드의 Getter를 자동 생성
 @Setter // 모든 필드의 Setter를 자동 생성
 @NoArgsConstructor // 파라미터가 없는 기본 생성자를 자동 생성
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_user_time", columnList = "user_id, event_time")
+})
 public class Event {
 
     @Id
@@ -30,7 +33,11 @@ public class Event {
     private Float durationSeconds;
 
     @Column(name = "weight_info")
-    private String weightInfo;
+    private String weightInfo; // 화면 표시용 원본 문자열 (예: "12.5g")
+
+    // [추가] weight_info 를 숫자(g)로 변환해 저장한 컬럼. 변환할 수 없는 값이면 null (집계 시 SUM 에서 제외)
+    @Column(name = "weight_grams")
+    private Double weightGrams;
 
     @Column(name = "origin_video_url")
     private String originVideoUrl;
@@ -44,5 +51,31 @@ public class Event {
     @Column(name = "cat_name")
     private String catName;
 
+    private static final Pattern NON_NUMERIC = Pattern.compile("[^\\d.]");
+
+    @PrePersist
+    void onCreate() {
+        if (weightGrams == null) weightGrams = parseWeightGrams(weightInfo);
+    }
+
+    /**
+     * "12.5g" 같은 weight_info 문자열에서 숫자만 뽑아 그램 값으로 변환합니다.
+     * @return 변환할 수 없으면 null
+     */
+    public static Double parseWeightGrams(String weightInfo) {
+        if (weightInfo == null || weightInfo.isEmpty()) {
+            return null;
+        }
+        String digits = NON_NUMERIC.matcher(weightInfo).replaceAll("");
+        if (digits.isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     // Getters, Setters, 기본 생성자 등은 Lombok 어노테이션(@Getter, @Setter, @NoArgsConstructor)을 사용하거나 직접 추가합니다.
 }
\ No newline at end of file
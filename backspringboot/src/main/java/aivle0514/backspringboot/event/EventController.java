@@ -1,25 +1,48 @@
 package aivle0514.backspringboot.event;
 
+import aivle0514.backspringboot.common.CursorPage;
+import aivle0514.backspringboot.common.ETags;
+import aivle0514.backspringboot.user.AuthUser;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Collections; // [수정] Collections 클래스를 import 합니다.
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/events")
 public class EventController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SAS_BATCH_SIZE = 200;
+    private static final int MAX_INGEST_SIZE = 5000;
+
     private final EventService eventService;
+    private final EventStreamHub eventStreamHub;
+    private final EventIngestService eventIngestService;
 
     @Autowired
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, EventStreamHub eventStreamHub,
+                           EventIngestService eventIngestService) {
         this.eventService = eventService;
+        this.eventStreamHub = eventStreamHub;
+        this.eventIngestService = eventIngestService;
     }
 
     @GetMapping
@@ -33,16 +56,125 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * [추가] 이벤트 일괄 수집 (서비스 간 호출 전용, X-API-Key 헤더 필요 - SecurityConfig 참고)
+     * 요청: [{ "user_id": "...", "event_time": "2025-08-01T12:00:00", "weight_info": "12.5g", "event_type": "meal", ... }, ...]
+     * 응답: { "inserted": 2, "ids": [101, 102] }
+     */
+    @PostMapping("/ingest")
+    public ResponseEntity<Map<String, Object>> ingestEvents(@RequestBody List<@Valid EventIngestRequest> events) {
+        if (events.isEmpty()) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "이벤트가 비어 있습니다."));
+        }
+        if (events.size() > MAX_INGEST_SIZE) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "한 번에 최대 " + MAX_INGEST_SIZE + "개까지 보낼 수 있습니다."));
+        }
+
+        List<Integer> ids = eventIngestService.ingest(events);
+        return ResponseEntity.ok(Map.of("inserted", ids.size(), "ids", ids));
+    }
+
+    /**
+     * [추가] 전체 이벤트 기록을 최신순 커서 페이지로 조회
+     * 예: GET /api/events/page?size=20&cursor=<이전 응답의 nextCursor>
+     * [수정] 로그인한 사용자 본인의 기록만 (userId 를 보내면 본인 이메일과 같아야 함, 다르면 403)
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<EventDto>> getEventPage(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthUser authUser) {
+
+        String ownerId = ownUserId(userId, authUser);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(eventService.getEventPage(ownerId, cursor, pageSize));
+    }
+
+    /**
+     * [추가] 사용자의 전체 이벤트 기록 내보내기 (스트리밍)
+     * 예: GET /api/events/export?format=csv
+     * 응답 본문은 별도 스레드에서 DB 커서를 따라가며 바로 전송되므로 전체 기록을 메모리에 올리지 않습니다.
+     * [수정] 로그인한 사용자 본인의 기록만 (userId 를 보내면 본인 이메일과 같아야 함, 다르면 403)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestParam(required = false) String userId,
+            @RequestParam(defaultValue = "ndjson") EventService.ExportFormat format,
+            @AuthenticationPrincipal AuthUser authUser) {
 
+        String ownerId = ownUserId(userId, authUser);
+        MediaType contentType = format == EventService.ExportFormat.csv
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        String filename = "events-" + ownerId.replaceAll("[^\\w.-]", "_") + "." + format.name();
+
+        StreamingResponseBody body = out -> eventService.exportEvents(ownerId, format, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * [추가] 새 이벤트 실시간 수신 (Server-Sent Events)
+     * 예: new EventSource('/api/events/stream')
+     * 새 이벤트마다 "event" 이벤트(id = 재개 지점, data = EventDto JSON)를 보냅니다.
+     * 끊겼다 재연결하면 브라우저가 Last-Event-ID 헤더를 보내고, 그 이후 이벤트부터 이어서 받습니다.
+     * [수정] 늦게 커밋된 이벤트를 놓치지 않도록 재개 지점은 마지막 이벤트 id 보다 앞설 수 있어, 재연결 직후 이미 받은 이벤트가 다시 올 수 있습니다. (data.id 로 중복 제거)
+     * [수정] 로그인한 사용자 본인의 이벤트만 (userId 를 보내면 본인 이메일과 같아야 함, 다르면 403)
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestParam(required = false) String userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal AuthUser authUser,
+            HttpServletResponse response) {
+
+        String ownerId = ownUserId(userId, authUser); // 구독 전에 확인
+        response.setHeader("X-Accel-Buffering", "no"); // nginx 프록시 버퍼링 해제
+        Integer resumeFrom = null;
+        if (lastEventId != null && lastEventId.matches("\\d{1,9}")) {
+            resumeFrom = Integer.valueOf(lastEventId);
+        }
+        return eventStreamHub.subscribe(ownerId, resumeFrom);
+    }
+
+    /**
+     * 고양이별 일일 통계
+     * [추가] If-None-Match 가 현재 ETag(그날 이벤트 수 + 최대 id)와 같으면 집계하지 않고 304
+     */
     @GetMapping("/stats")
     public ResponseEntity<List<DailyCatStatsDto>> getDailyStats(
             @RequestParam String userId,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest webRequest) {
+
+        if (ETags.checkNotModified(webRequest, eventService.getDailyStatsETag(userId, date))) {
+            return null; // 304 Not Modified (본문 없음)
+        }
         List<DailyCatStatsDto> stats = eventService.getDailyStatsByUserId(userId, date);
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * [추가] 기간 통계 (고양이별 시계열)
+     * 예: GET /api/events/stats/range?from=2025-08-01&to=2025-08-31&bucket=day
+     * 주간/월간 차트를 날짜 수만큼 /stats 를 반복 호출하지 않고 한 번에 그릴 수 있습니다.
+     * [수정] 로그인한 사용자 본인의 통계만 (userId 를 보내면 본인 이메일과 같아야 함, 다르면 403)
+     */
+    @GetMapping("/stats/range")
+    public ResponseEntity<List<CatStatsSeriesDto>> getRangeStats(
+            @RequestParam(required = false) String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") EventService.StatsBucket bucket,
+            @AuthenticationPrincipal AuthUser authUser) {
+
+        String ownerId = ownUserId(userId, authUser);
+        return ResponseEntity.ok(eventService.getRangeStatsByUserId(ownerId, from, to, bucket));
+    }
+
     
     @PostMapping("/video/sas")
     public ResponseEntity<Map<String, String>> getSasVideoUrl(@RequestBody Map<String, String> payload) {
@@ -52,14 +184,10 @@ public class EventController {
                 return ResponseEntity.badRequest().body(Collections.singletonMap("message", "videoUrl이 필요합니다."));
             }
 
-            URL url = new URL(originalUrl);
-            String path = url.getPath();
-            String[] parts = path.substring(1).split("/", 2);
-            String containerName = parts[0];
-            String blobName = parts[1];
+            VideoSasUrlSigner.BlobLocation location = VideoSasUrlSigner.BlobLocation.parse(originalUrl);
 
-            // [수정] 컨트롤러가 직접 만들지 않고, EventService에 요청합니다.
-            String sasUrl = eventService.generateSasUrl(containerName, blobName);
+            // [수정] 컨트롤러가 직접 만들지 않고, EventService에 요청합니다. (만료 전까지 캐시된 URL 재사용)
+            String sasUrl = eventService.generateSasUrl(location.containerName(), location.blobName());
 
             return ResponseEntity.ok(Collections.singletonMap("videoUrl", sasUrl));
 
@@ -69,4 +197,41 @@ public class EventController {
             return ResponseEntity.status(500).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * [추가] 여러 영상의 SAS URL 을 한 번에 발급
+     * 요청: { "videoUrls": ["https://.../origin/a.mp4", "https://.../bbox/a.mp4", ...] }
+     * 응답: { "videoUrls": { "<원본 URL>": "<서명된 URL>", ... } }
+     */
+    @PostMapping("/video/sas/batch")
+    public ResponseEntity<Map<String, Object>> getSasVideoUrls(@RequestBody Map<String, List<String>> payload) {
+        List<String> videoUrls = payload.get("videoUrls");
+        if (videoUrls == null || videoUrls.isEmpty()) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "videoUrls가 필요합니다."));
+        }
+        if (videoUrls.size() > MAX_SAS_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "한 번에 최대 " + MAX_SAS_BATCH_SIZE + "개까지 요청할 수 있습니다."));
+        }
+
+        try {
+            return ResponseEntity.ok(Collections.singletonMap("videoUrls", eventService.generateSasUrls(videoUrls)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("SAS URL 일괄 생성 실패 ({}건)", videoUrls.size(), e);
+            return ResponseEntity.status(500).body(Collections.singletonMap("message", "SAS URL 생성에 실패했습니다."));
+        }
+    }
+
+    /**
+     * [추가] 이벤트의 user_id 는 로그인 이메일 - 다른 사용자의 이벤트 기록은 볼 수 없음
+     * @param userId 요청의 userId (생략하면 본인)
+     * @throws AccessDeniedException userId 가 본인이 아닌 경우 (403)
+     */
+    private static String ownUserId(String userId, AuthUser authUser) {
+        if (userId != null && !userId.equals(authUser.getUsername())) {
+            throw new AccessDeniedException("다른 사용자의 이벤트는 조회할 수 없습니다.");
+        }
+        return authUser.getUsername();
+    }
+}
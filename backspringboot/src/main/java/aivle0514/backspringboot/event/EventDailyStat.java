@@ -0,0 +1,67 @@
+package aivle0514.backspringboot.event;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 사용자/고양이/날짜별 음수량·식사량 집계 (롤업) 테이블
+ * events 테이블에 행이 INSERT 될 때 DB 트리거(trg_events_daily_stats)가 증분 갱신합니다.
+ * 백엔드는 이 테이블을 읽기만 합니다. (DB/db_init/init.sql 참고)
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "event_daily_stats")
+@IdClass(EventDailyStat.Key.class)
+public class EventDailyStat {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Id
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Id
+    @Column(name = "cat_name", nullable = false)
+    private String catName;
+
+    @Column(name = "water_total", nullable = false)
+    private double waterTotal; // 'drink' 이벤트 weight 합계
+
+    @Column(name = "food_total", nullable = false)
+    private double foodTotal;  // 'meal' 이벤트 weight 합계
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;   // 해당 고양이의 그날 전체 이벤트 수
+
+    // 복합키 (user_id, stat_date, cat_name)
+    @Getter
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private String userId;
+        private LocalDate statDate;
+        private String catName;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId)
+                    && Objects.equals(statDate, key.statDate)
+                    && Objects.equals(catName, key.catName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, statDate, catName);
+        }
+    }
+}
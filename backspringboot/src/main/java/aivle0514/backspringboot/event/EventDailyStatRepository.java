@@ -0,0 +1,23 @@
+package aivle0514.backspringboot.event;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EventDailyStatRepository extends JpaRepository<EventDailyStat, EventDailyStat.Key> {
+
+    /**
+     * 특정 사용자의 하루치 고양이별 집계 행을 조회합니다. (PK 범위 조회)
+     * SQL: SELECT * FROM event_daily_stats WHERE user_id = ? AND stat_date = ?
+     */
+    List<EventDailyStat> findByUserIdAndStatDate(String userId, LocalDate statDate);
+
+    /**
+     * [추가] 특정 사용자의 기간(from ~ to, 양 끝 포함) 고양이별 집계 행을 날짜순으로 조회합니다. (PK 범위 조회)
+     * SQL: SELECT * FROM event_daily_stats WHERE user_id = ? AND stat_date BETWEEN ? AND ? ORDER BY stat_date
+     */
+    List<EventDailyStat> findByUserIdAndStatDateBetweenOrderByStatDate(String userId, LocalDate from, LocalDate to);
+}
@@ -45,4 +45,4 @@ class DailyCatStatsDto {
     private String catName;          // 고양이 이름
     private double totalWaterIntake; // 총 음수량
     private double totalFoodIntake;  // 총 식사량
-}
\ No newline at end of file
+}
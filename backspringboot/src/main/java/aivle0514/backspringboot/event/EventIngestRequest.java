@@ -0,0 +1,30 @@
+package aivle0514.backspringboot.event;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * [추가] 이벤트 일괄 수집(POST /api/events/ingest) 요청 항목
+ * collectionservice 의 EventCreate 스키마와 같은 snake_case 필드를 받으므로 그대로 전달할 수 있습니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class EventIngestRequest {
+    @NotBlank private String userId;
+    @NotNull private LocalDateTime eventTime;
+    private Float durationSeconds;
+    private String weightInfo;
+    private String originVideoUrl;
+    private String bboxVideoUrl;
+    private String eventType;
+    private String catName;
+}
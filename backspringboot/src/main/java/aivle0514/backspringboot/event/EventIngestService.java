@@ -0,0 +1,88 @@
+package aivle0514.backspringboot.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [추가] 이벤트 일괄 저장
+ * Event.id 가 IDENTITY 전략이라 Hibernate 는 INSERT 를 배치로 묶지 못하고 한 건씩 실행합니다.
+ * 여기서는 JDBC 배치(+ rewriteBatchedStatements 로 multi-row INSERT)로 넣고 생성된 id 만 돌려받습니다.
+ */
+@Service
+public class EventIngestService {
+
+    private static final int JDBC_BATCH_SIZE = 500;
+    private static final String INSERT_SQL =
+            "INSERT INTO events (user_id, event_time, duration_seconds, weight_info, weight_grams, " +
+            "origin_video_url, bbox_video_url, event_type, cat_name) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EventIngestService(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 이벤트들을 한 트랜잭션으로 저장하고, 커밋 후 리스너들이 받을 EventsIngestedEvent 를 발행합니다.
+     * @return 생성된 events.id (입력 순서)
+     */
+    @Transactional
+    public List<Integer> ingest(List<EventIngestRequest> events) {
+        List<Integer> ids = new ArrayList<>(events.size());
+        for (int from = 0; from < events.size(); from += JDBC_BATCH_SIZE) {
+            ids.addAll(insertBatch(events.subList(from, Math.min(from + JDBC_BATCH_SIZE, events.size()))));
+        }
+
+        List<String> userIds = events.stream().map(EventIngestRequest::getUserId).distinct().toList();
+        eventPublisher.publishEvent(new EventsIngestedEvent(userIds, ids));
+        return ids;
+    }
+
+    private List<Integer> insertBatch(List<EventIngestRequest> batch) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        EventIngestRequest e = batch.get(i);
+                        ps.setString(1, e.getUserId());
+                        ps.setTimestamp(2, Timestamp.valueOf(e.getEventTime()));
+                        ps.setObject(3, e.getDurationSeconds(), Types.FLOAT);
+                        ps.setString(4, e.getWeightInfo());
+                        ps.setObject(5, Event.parseWeightGrams(e.getWeightInfo()), Types.DOUBLE);
+                        ps.setString(6, e.getOriginVideoUrl());
+                        ps.setString(7, e.getBboxVideoUrl());
+                        ps.setString(8, e.getEventType());
+                        ps.setString(9, e.getCatName());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keyHolder);
+
+        List<Integer> ids = new ArrayList<>(batch.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).intValue());
+        }
+        return ids;
+    }
+}
@@ -1,7 +1,16 @@
 package aivle0514.backspringboot.event;
+import aivle0514.backspringboot.common.VersionStamp;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 import java.time.LocalDateTime; 
 
 @Repository
@@ -19,4 +28,107 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
      * SQL: SELECT * FROM events WHERE user_id = ? AND event_time BETWEEN ? AND ?
      */
     List<Event> findByUserIdAndEventTimeBetween(String userId, LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+
+    /**
+     * [추가] 키셋 페이지네이션 - 첫 페이지 (최신순)
+     * idx_events_user_time (user_id, event_time) 인덱스를 역순으로 읽고 LIMIT 에서 멈춥니다. COUNT 쿼리는 없습니다.
+     * SQL: SELECT * FROM events WHERE user_id = ? AND event_time IS NOT NULL ORDER BY event_time DESC, id DESC LIMIT ?
+     */
+    @Query("SELECT e FROM Event e WHERE e.userId = :userId AND e.eventTime IS NOT NULL " +
+           "ORDER BY e.eventTime DESC, e.id DESC")
+    List<Event> findLatestByUserId(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * [추가] 키셋 페이지네이션 - 커서 (eventTime, id) 이후 페이지
+     * OFFSET 을 쓰지 않으므로 몇 번째 페이지든 인덱스 탐색 비용이 같습니다.
+     */
+    @Query("SELECT e FROM Event e WHERE e.userId = :userId AND e.eventTime IS NOT NULL " +
+           "AND (e.eventTime < :cursorTime OR (e.eventTime = :cursorTime AND e.id < :cursorId)) " +
+           "ORDER BY e.eventTime DESC, e.id DESC")
+    List<Event> findByUserIdBeforeCursor(@Param("userId") String userId,
+                                         @Param("cursorTime") LocalDateTime cursorTime,
+                                         @Param("cursorId") Integer cursorId,
+                                         Pageable pageable);
+
+    /**
+     * [추가] 전체 이벤트 기록 내보내기용 스트림 (오래된 순)
+     * MySQL Connector/J 는 fetchSize 가 Integer.MIN_VALUE 일 때 결과를 한 번에 받지 않고 한 행씩 흘려보냅니다(forward-only).
+     * 반드시 트랜잭션 안에서 소비하고 try-with-resources 로 닫아야 합니다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Event e WHERE e.userId = :userId ORDER BY e.eventTime ASC, e.id ASC")
+    Stream<Event> streamByUserId(@Param("userId") String userId);
+
+    /**
+     * [추가] 기간 내 고양이별·이벤트 종류별 섭취량 합계를 MySQL 에서 GROUP BY 로 계산합니다.
+     * 엔티티를 JVM 으로 가져오지 않고 (고양이 수 x 이벤트 종류 수) 만큼의 행만 반환합니다.
+     * SQL: SELECT cat_name, event_type, SUM(weight_grams), COUNT(*) FROM events
+     *      WHERE user_id = ? AND event_time BETWEEN ? AND ? AND cat_name IS NOT NULL GROUP BY cat_name, event_type
+     */
+    @Query("SELECT e.catName AS catName, e.eventType AS eventType, " +
+           "SUM(e.weightGrams) AS totalWeight, COUNT(e) AS eventCount " +
+           "FROM Event e " +
+           "WHERE e.userId = :userId AND e.eventTime BETWEEN :start AND :end AND e.catName IS NOT NULL " +
+           "GROUP BY e.catName, e.eventType")
+    List<CatIntakeAggregate> aggregateIntakeByCat(@Param("userId") String userId,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+
+    /**
+     * [추가] 기간(start 포함, end 미포함) 내 weight_grams 가 NULL 인데 weight_info 는 있는 이벤트
+     * SUM(weight_grams) 집계에서 빠지는 행을 보충하기 위한 조회입니다. 트리거가 있는 DB 에서는 변환 불가 값만 남으므로 거의 비어 있습니다.
+     */
+    @Query("SELECT e.catName AS catName, e.eventType AS eventType, e.eventTime AS eventTime, e.weightInfo AS weightInfo " +
+           "FROM Event e " +
+           "WHERE e.userId = :userId AND e.eventTime >= :start AND e.eventTime < :end AND e.catName IS NOT NULL " +
+           "AND e.weightGrams IS NULL AND e.weightInfo IS NOT NULL")
+    List<UnparsedWeightRow> findUnparsedWeights(@Param("userId") String userId,
+                                                @Param("start") LocalDateTime start,
+                                                @Param("end") LocalDateTime end);
+
+    /**
+     * [추가] 기간 내 이벤트의 버전 (일일 통계 ETag 용)
+     * idx_events_user_time 인덱스만 읽으므로 집계 쿼리보다 훨씬 가볍습니다. (롤업도 events INSERT 로만 바뀜)
+     */
+    @Query("SELECT COUNT(e) AS total, MAX(e.id) AS latest FROM Event e " +
+           "WHERE e.userId = :userId AND e.eventTime BETWEEN :start AND :end")
+    VersionStamp findVersion(@Param("userId") String userId,
+                             @Param("start") LocalDateTime start,
+                             @Param("end") LocalDateTime end);
+
+    /**
+     * [추가] 기간 내 고양이별·이벤트 종류별 섭취량 합계를 (날짜, 시) 단위로 GROUP BY 합니다.
+     * 구간 통계(hour 버킷, 또는 롤업이 없을 때의 day/week 버킷)를 한 번의 쿼리로 계산하는 데 사용합니다.
+     * idx_events_user_time 범위 스캔 후 (고양이 수 x 이벤트 종류 수 x 시간 수) 만큼의 행만 반환합니다.
+     */
+    @Query("SELECT e.catName AS catName, e.eventType AS eventType, " +
+           "cast(e.eventTime as LocalDate) AS statDate, extract(hour from e.eventTime) AS statHour, " +
+           "SUM(e.weightGrams) AS totalWeight " +
+           "FROM Event e " +
+           "WHERE e.userId = :userId AND e.eventTime >= :start AND e.eventTime < :end AND e.catName IS NOT NULL " +
+           "GROUP BY e.catName, e.eventType, cast(e.eventTime as LocalDate), extract(hour from e.eventTime)")
+    List<HourlyIntakeAggregate> aggregateHourlyIntakeByCat(@Param("userId") String userId,
+                                                           @Param("start") LocalDateTime start,
+                                                           @Param("end") LocalDateTime end);
+
+    /**
+     * [추가] SSE 허브용 - 현재 가장 큰 이벤트 id (없으면 0)
+     */
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM Event e")
+    Integer findMaxId();
+
+    /**
+     * [추가] SSE 허브용 - 구독 중인 사용자들의 id 이후 새 이벤트 (PK 범위 스캔)
+     * SQL: SELECT * FROM events WHERE id > ? AND user_id IN (...) ORDER BY id LIMIT ?
+     */
+    List<Event> findByIdGreaterThanAndUserIdInOrderByIdAsc(Integer id, Collection<String> userIds, Pageable pageable);
+
+    /**
+     * [추가] SSE 재연결(Last-Event-ID) 시 놓친 이벤트 재전송용
+     * SQL: SELECT * FROM events WHERE user_id = ? AND id > ? ORDER BY id LIMIT ?
+     */
+    List<Event> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, Integer id, Pageable pageable);
+}
@@ -1,47 +1,110 @@
 package aivle0514.backspringboot.event;
 
-import com.azure.storage.blob.BlobClient;
-import com.azure.storage.blob.BlobServiceClient;
-import com.azure.storage.blob.BlobServiceClientBuilder;
-import com.azure.storage.blob.sas.BlobSasPermission;
-import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
-
+import aivle0514.backspringboot.common.CursorPage;
+import aivle0514.backspringboot.common.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class EventService {
 
-    private final EventRepository eventRepository;
-    private final BlobServiceClient blobServiceClient;
-    private double parseWeight(String weightInfo) {
-    if (weightInfo == null || weightInfo.isEmpty()) {
-        return 0.0;
-    }
-    try {
-        // "g"와 같은 단위를 제거하고 숫자만 추출
-        return Double.parseDouble(weightInfo.replaceAll("[^\\d.]", ""));
-    } catch (NumberFormatException e) {
-        // 숫자 변환 실패 시 0을 반환
-        return 0.0;
-    }
+    private static final int EXPORT_FLUSH_EVERY = 500; // 내보내기 시 N행마다 응답 버퍼를 비움
+    private static final int SAS_BATCH_TIMEOUT_SECONDS = 10;
+    private static final int SAS_SIGNING_QUEUE_CAPACITY = 500;
+    private static final int MAX_STATS_BUCKETS = 800; // 구간 통계 한 번에 허용하는 버킷 수 (hour 기준 약 33일)
+
+    /** 이벤트 내보내기 형식 */
+    public enum ExportFormat { ndjson, csv }
+
+    /** [추가] 구간 통계 버킷 단위 (week 는 월요일 시작 ISO 주) */
+    public enum StatsBucket {
+        hour(ChronoUnit.HOURS), day(ChronoUnit.DAYS), week(ChronoUnit.WEEKS);
+
+        private final ChronoUnit unit;
+
+        StatsBucket(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        /** time 이 속한 버킷의 시작 시각 */
+        LocalDateTime truncate(LocalDateTime time) {
+            return switch (this) {
+                case hour -> time.truncatedTo(ChronoUnit.HOURS);
+                case day -> time.toLocalDate().atStartOfDay();
+                case week -> time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            };
+        }
     }
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final EventRepository eventRepository;
+    private final EventDailyStatRepository eventDailyStatRepository;
+    private final VideoSasUrlSigner videoSasUrlSigner;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor sasSigningExecutor; // SAS 일괄 서명 전용 (크기 제한, 큐가 차면 호출 스레드가 직접 서명)
+
     @Autowired
-    public EventService(EventRepository eventRepository, @Value("${azure.storage.connection-string}") String connectionString) {
+    public EventService(EventRepository eventRepository,
+                        EventDailyStatRepository eventDailyStatRepository,
+                        VideoSasUrlSigner videoSasUrlSigner,
+                        ObjectMapper objectMapper,
+                        @Value("${azure.storage.sas.signing-threads:4}") int signingThreads) {
         this.eventRepository = eventRepository;
-        this.blobServiceClient = new BlobServiceClientBuilder()
-                .connectionString(connectionString)
-                .buildClient();
+        this.eventDailyStatRepository = eventDailyStatRepository;
+        this.videoSasUrlSigner = videoSasUrlSigner;
+        this.objectMapper = objectMapper;
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.sasSigningExecutor = new ThreadPoolExecutor(
+                signingThreads, signingThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(SAS_SIGNING_QUEUE_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "sas-signer-" + threadSeq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.sasSigningExecutor.allowCoreThreadTimeOut(true);
     }
 
     public List<EventDto> getDailyEventsByUserId(String userId, LocalDate date) {
@@ -68,50 +131,282 @@ public class EventService {
                 .collect(Collectors.toList()); // 결과를 다시 리스트로 수집
     }
 
+    /**
+     * [추가] 이벤트 기록을 최신순으로 커서(eventTime + id) 기반 페이지 조회합니다.
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    public CursorPage<EventDto> getEventPage(String userId, String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1); // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+
+        List<Event> events;
+        if (cursor == null || cursor.isBlank()) {
+            events = eventRepository.findLatestByUserId(userId, limit);
+        } else {
+            EventCursor c = CursorPage.decode(cursor, 2,
+                    keys -> new EventCursor(LocalDateTime.parse(keys[0]), Integer.valueOf(keys[1])));
+            events = eventRepository.findByUserIdBeforeCursor(userId, c.eventTime(), c.id(), limit);
+        }
+
+        return CursorPage.of(events, size, EventDto::new,
+                e -> CursorPage.encode(e.getEventTime(), e.getId()));
+    }
+
+    private record EventCursor(LocalDateTime eventTime, Integer id) {}
+
+    /**
+     * [추가] 사용자의 전체 이벤트 기록을 NDJSON/CSV 로 out 에 바로 씁니다.
+     * DB 커서에서 한 행씩 읽어 쓰고 곧바로 영속성 컨텍스트에서 분리(detach)하므로,
+     * 기록이 아무리 많아도 메모리에는 현재 행과 출력 버퍼만 남습니다.
+     */
+    @Transactional(readOnly = true)
+    public void exportEvents(String userId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.csv) {
+            writer.write("id,eventTime,eventType,catName,weightInfo,durationSeconds,originVideoUrl,bboxVideoUrl\n");
+        }
+
+        try (Stream<Event> events = eventRepository.streamByUserId(userId)) {
+            Iterator<Event> it = events.iterator();
+            int written = 0;
+            while (it.hasNext()) {
+                Event event = it.next();
+                EventDto dto = new EventDto(event);
+                entityManager.detach(event);
+
+                if (format == ExportFormat.csv) {
+                    writer.write(toCsvLine(dto));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(dto));
+                    writer.write('\n');
+                }
+
+                if (++written % EXPORT_FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private String toCsvLine(EventDto dto) {
+        return String.join(",",
+                csv(dto.getId()), csv(dto.getEventTime()), csv(dto.getEventType()), csv(dto.getCatName()),
+                csv(dto.getWeightInfo()), csv(dto.getDurationSeconds()), csv(dto.getOriginVideoUrl()),
+                csv(dto.getBboxVideoUrl())) + "\n";
+    }
+
+    // RFC 4180: 쉼표/따옴표/개행이 있으면 따옴표로 감싸고 내부 따옴표는 두 번 씀
+    private String csv(Object value) {
+        if (value == null) return "";
+        String s = value.toString();
+        if (s.contains(",") || s.contains("\"") || s.contains("\n") || s.contains("\r")) {
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+        return s;
+    }
+
+    /**
+     * 영상 Blob 의 읽기 전용 SAS URL (유효 1시간)
+     * 같은 Blob 은 만료 여유 시간 전까지 캐시된 URL 을 재사용합니다. (VideoSasUrlSigner 참고)
+     */
     public String generateSasUrl(String containerName, String blobName) {
-        BlobClient blobClient = blobServiceClient.getBlobContainerClient(containerName).getBlobClient(blobName);
-        BlobSasPermission permissions = new BlobSasPermission().setReadPermission(true);
-        OffsetDateTime expiryTime = OffsetDateTime.now().plusHours(1); // 1시간 동안 유효
+        return videoSasUrlSigner.sign(containerName, blobName);
+    }
+
+    /**
+     * [추가] 여러 영상 URL 을 한 번에 서명합니다.
+     * 중복을 제거한 뒤 제한된 크기의 서명 전용 스레드풀에서 병렬로 서명합니다. (캐시 적중 건은 즉시 반환)
+     * @return 요청 URL → 서명된 URL (요청 순서 유지)
+     * @throws IllegalArgumentException 형식이 잘못된 URL 이 포함된 경우 (서명 시작 전에 검사)
+     */
+    public Map<String, String> generateSasUrls(List<String> videoUrls) {
+        Map<String, VideoSasUrlSigner.BlobLocation> locations = new LinkedHashMap<>();
+        for (String videoUrl : videoUrls) {
+            locations.computeIfAbsent(videoUrl, VideoSasUrlSigner.BlobLocation::parse);
+        }
+
+        Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+        locations.forEach((url, location) -> futures.put(url,
+                CompletableFuture.supplyAsync(() -> videoSasUrlSigner.sign(location), sasSigningExecutor)));
 
-        BlobServiceSasSignatureValues sasValues = new BlobServiceSasSignatureValues(expiryTime, permissions);
-        String sasToken = blobClient.generateSas(sasValues);
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .get(SAS_BATCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("SAS URL 일괄 서명이 중단되었습니다.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            futures.values().forEach(f -> f.cancel(true));
+            throw new IllegalStateException("SAS URL 일괄 서명에 실패했습니다.", e);
+        }
 
-        return String.format("%s?%s", blobClient.getBlobUrl(), sasToken);
+        Map<String, String> signed = new LinkedHashMap<>();
+        futures.forEach((url, future) -> signed.put(url, future.join()));
+        return signed;
+    }
+
+    @PreDestroy
+    void shutdownSasSigningExecutor() {
+        sasSigningExecutor.shutdown();
     }
     
+    /**
+     * [추가] 일일 통계의 ETag (그날 이벤트 수 + 최대 id, 집계하지 않음)
+     */
+    public String getDailyStatsETag(String userId, LocalDate date) {
+        return ETags.of("event-stats", userId + "|" + date,
+                eventRepository.findVersion(userId, date.atStartOfDay(), date.atTime(LocalTime.MAX)));
+    }
+
+    /**
+     * 고양이별 일일 통계를 반환합니다.
+     * events 원본을 다시 스캔하지 않고, 트리거로 증분 갱신되는 event_daily_stats 롤업 테이블을 그대로 읽습니다.
+     */
     public List<DailyCatStatsDto> getDailyStatsByUserId(String userId, LocalDate date) {
+        List<EventDailyStat> rollup = eventDailyStatRepository.findByUserIdAndStatDate(userId, date);
+
+        // 롤업 트리거가 설치되지 않은 환경(ddl-auto=update 로컬 DB 등)에서는 원본 이벤트로 계산
+        if (rollup.isEmpty()) {
+            return aggregateDailyStatsFromEvents(userId, date);
+        }
+
+        return rollup.stream()
+                .map(stat -> new DailyCatStatsDto(stat.getCatName(), stat.getWaterTotal(), stat.getFoodTotal()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * [추가] 원본 events 를 DB 에서 GROUP BY 로 집계해 고양이별 일일 통계를 계산합니다.
+     * 롤업 행이 없을 때의 대체 경로이며, 엔티티를 한 건도 로드하지 않습니다.
+     */
+    public List<DailyCatStatsDto> aggregateDailyStatsFromEvents(String userId, LocalDate date) {
         // 해당 날짜의 시작(00:00:00)과 끝(23:59:59) 시간 계산
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
 
-        // 해당 날짜의 모든 이벤트를 DB에서 조회
-        List<Event> events = eventRepository.findByUserIdAndEventTimeBetween(userId, startOfDay, endOfDay);
+        // 고양이 이름별로 음수량('drink')과 식사량('meal') 합계를 모음 (조회 순서 유지)
+        Map<String, double[]> totalsByCat = new LinkedHashMap<>();
+        for (CatIntakeAggregate row : eventRepository.aggregateIntakeByCat(userId, startOfDay, endOfDay)) {
+            double[] totals = totalsByCat.computeIfAbsent(row.getCatName(), k -> new double[2]);
+            double weight = row.getTotalWeight() != null ? row.getTotalWeight() : 0.0;
+            if ("drink".equals(row.getEventType())) {
+                totals[0] += weight;
+            } else if ("meal".equals(row.getEventType())) {
+                totals[1] += weight;
+            }
+        }
+        // [수정] weight_grams 가 비어 있는 행(트리거 없는 DB 에 기동 후 들어온 이벤트 등)은 weight_info 를 변환해 더함
+        for (UnparsedWeightRow row : eventRepository.findUnparsedWeights(userId, startOfDay, date.plusDays(1).atStartOfDay())) {
+            Double weight = Event.parseWeightGrams(row.getWeightInfo());
+            if (weight == null) {
+                continue;
+            }
+            double[] totals = totalsByCat.computeIfAbsent(row.getCatName(), k -> new double[2]);
+            if ("drink".equals(row.getEventType())) {
+                totals[0] += weight;
+            } else if ("meal".equals(row.getEventType())) {
+                totals[1] += weight;
+            }
+        }
 
-        // 고양이 이름(catName)으로 이벤트를 그룹화
-        Map<String, List<Event>> eventsByCat = events.stream()
-                .filter(event -> event.getCatName() != null) // 고양이 이름이 없는 이벤트는 제외
-                .collect(Collectors.groupingBy(Event::getCatName));
-
-        // 그룹화된 데이터를 기반으로 고양이별 통계를 계산
-        return eventsByCat.entrySet().stream()
-                .map(entry -> {
-                    String catName = entry.getKey();
-                    List<Event> catEvents = entry.getValue();
-
-                    // eventType에 따라 음수량('음수')과 식사량('식사')을 합산
-                    // durationSeconds가 양을 나타낸다고 가정
-                    double totalWater = catEvents.stream()
-                        .filter(e -> "drink".equals(e.getEventType()))
-                        .mapToDouble(e -> parseWeight(e.getWeightInfo()))
-                        .sum();
-
-                    double totalFood = catEvents.stream()
-                            .filter(e -> "meal".equals(e.getEventType()))
-                            .mapToDouble(e -> parseWeight(e.getWeightInfo()))
-                            .sum();
-                    
-                    return new DailyCatStatsDto(catName, totalWater, totalFood);
-                })
+        return totalsByCat.entrySet().stream()
+                .map(entry -> new DailyCatStatsDto(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * [추가] 기간(from ~ to, 양 끝 포함)의 고양이별 섭취량을 bucket 단위 시계열로 반환합니다.
+     * 쿼리는 한 번만 실행하고(day/week: event_daily_stats 롤업, hour: events 시간별 GROUP BY),
+     * 결과 행을 한 번 훑으며 버킷 배열에 누적합니다. 이벤트가 없는 버킷도 0 으로 채워 반환합니다.
+     * @throws ResponseStatusException 400 - to 가 from 보다 이르거나 버킷 수가 MAX_STATS_BUCKETS 를 넘는 경우
+     */
+    public List<CatStatsSeriesDto> getRangeStatsByUserId(String userId, LocalDate from, LocalDate to, StatsBucket bucket) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "to 는 from 보다 이를 수 없습니다.");
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay(); // 미포함
+
+        SeriesAccumulator series = new SeriesAccumulator(bucket, start, end);
+        if (series.size() > MAX_STATS_BUCKETS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "버킷 수가 너무 많습니다. (최대 " + MAX_STATS_BUCKETS + "개) 기간을 줄이거나 더 큰 bucket 을 사용하세요.");
+        }
+
+        if (bucket != StatsBucket.hour) {
+            List<EventDailyStat> rollup = eventDailyStatRepository.findByUserIdAndStatDateBetweenOrderByStatDate(userId, from, to);
+            if (!rollup.isEmpty()) {
+                for (EventDailyStat stat : rollup) {
+                    series.add(stat.getCatName(), stat.getStatDate().atStartOfDay(), stat.getWaterTotal(), stat.getFoodTotal());
+                }
+                return series.toDtos();
+            }
+            // 롤업 트리거가 없는 환경에서는 getDailyStatsByUserId 와 마찬가지로 원본 이벤트로 계산
+        }
+
+        for (HourlyIntakeAggregate row : eventRepository.aggregateHourlyIntakeByCat(userId, start, end)) {
+            LocalDateTime time = row.getStatDate().atTime(row.getStatHour(), 0);
+            double weight = row.getTotalWeight() != null ? row.getTotalWeight() : 0.0;
+            if ("drink".equals(row.getEventType())) {
+                series.add(row.getCatName(), time, weight, 0);
+            } else if ("meal".equals(row.getEventType())) {
+                series.add(row.getCatName(), time, 0, weight);
+            }
+        }
+        // [수정] weight_grams 가 비어 있는 행은 weight_info 를 변환해 해당 시간 버킷에 더함 (aggregateDailyStatsFromEvents 와 같은 보충)
+        for (UnparsedWeightRow row : eventRepository.findUnparsedWeights(userId, start, end)) {
+            Double weight = Event.parseWeightGrams(row.getWeightInfo());
+            if (weight == null) {
+                continue;
+            }
+            if ("drink".equals(row.getEventType())) {
+                series.add(row.getCatName(), row.getEventTime(), weight, 0);
+            } else if ("meal".equals(row.getEventType())) {
+                series.add(row.getCatName(), row.getEventTime(), 0, weight);
+            }
+        }
+        return series.toDtos();
+    }
+
+    // 고양이별 [버킷 index][0: 음수량, 1: 식사량] 누적기. 버킷 index 는 첫 버킷으로부터의 단위 수라 조회가 O(1)
+    private static class SeriesAccumulator {
+        private final StatsBucket bucket;
+        private final LocalDateTime firstBucket;
+        private final int size;
+        private final Map<String, double[][]> totalsByCat = new TreeMap<>(); // 고양이 이름순
+
+        SeriesAccumulator(StatsBucket bucket, LocalDateTime start, LocalDateTime end) {
+            this.bucket = bucket;
+            this.firstBucket = bucket.truncate(start);
+            this.size = (int) bucket.unit.between(firstBucket, bucket.truncate(end.minusNanos(1))) + 1;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(String catName, LocalDateTime time, double water, double food) {
+            int index = (int) bucket.unit.between(firstBucket, bucket.truncate(time));
+            if (index < 0 || index >= size) {
+                return;
+            }
+            double[] totals = totalsByCat.computeIfAbsent(catName, k -> new double[size][2])[index];
+            totals[0] += water;
+            totals[1] += food;
+        }
+
+        List<CatStatsSeriesDto> toDtos() {
+            List<CatStatsSeriesDto> result = new ArrayList<>(totalsByCat.size());
+            totalsByCat.forEach((catName, totals) -> {
+                List<CatStatsSeriesDto.BucketStatsDto> points = new ArrayList<>(size);
+                LocalDateTime bucketStart = firstBucket;
+                for (double[] t : totals) {
+                    points.add(new CatStatsSeriesDto.BucketStatsDto(bucketStart, t[0], t[1]));
+                    bucketStart = bucketStart.plus(1, bucket.unit);
+                }
+                result.add(new CatStatsSeriesDto(catName, points));
+            });
+            return result;
+        }
+    }
+}
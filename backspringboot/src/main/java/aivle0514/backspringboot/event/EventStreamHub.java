@@ -0,0 +1,328 @@
+package aivle0514.backspringboot.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * [추가] 새 이벤트 SSE 팬아웃 허브
+ * 클라이언트마다 MySQL 을 폴링하는 대신, 구독자가 있을 때만 이 허브 하나가 events 를 id 순으로 따라가며
+ * 새 행을 해당 사용자의 SseEmitter 들에게 밀어 줍니다.
+ * 대기 중인 연결은 서블릿 비동기 요청이라 스레드를 점유하지 않고, 연결당 SseEmitter 하나만 메모리에 남습니다.
+ *
+ * [수정] AUTO_INCREMENT id 는 커밋 순서대로 보이지 않습니다. (id N 을 잡은 트랜잭션이 N+1 보다 늦게 커밋될 수 있음)
+ * 그래서 커서를 "지금까지 본 최대 id" 가 아니라 settle-window 이전에 본 최대 id 로 두고, 매 폴링마다 그 뒤를 다시 읽습니다.
+ * 다시 읽은 행은 구독자별로 이미 보낸 id 집합으로 걸러 냅니다.
+ * SSE id 에는 이 커서(그 이하는 모두 전달된 지점)를 실어 보내므로, Last-Event-ID 로 재연결하면 늦게 커밋된 이벤트도 재전송됩니다.
+ * (재전송 구간이 겹칠 수 있으니 클라이언트는 data.id 로 중복을 걸러야 합니다)
+ *
+ * 전송은 전용 스레드 풀에서 구독자별 대기열을 비우는 방식이라, 느린 클라이언트가 폴링/하트비트/다른 구독자를 막지 않습니다.
+ * 대기열이 MAX_PENDING_SENDS 를 넘으면 그 연결은 끊고, 클라이언트는 Last-Event-ID 로 재연결합니다.
+ */
+@Slf4j
+@Component
+public class EventStreamHub {
+
+    private static final int POLL_BATCH_SIZE = 500;
+    private static final int MAX_REPLAY = 500; // Last-Event-ID 재전송 최대 건수
+    private static final int MAX_PENDING_SENDS = 1000; // 구독자별 전송 대기열 최대 길이
+
+    private final EventRepository eventRepository;
+    private final long emitterTimeoutMillis;
+    private final long settleWindowNanos;
+    private final ThreadPoolExecutor sendExecutor;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger lastSeenId = new AtomicInteger(-1); // 지금까지 읽은 최대 id. -1: 구독자가 없어 추적하지 않는 상태
+    private final Deque<long[]> seenMarks = new ArrayDeque<>(); // 폴링 시각별 lastSeenId - [nanoTime, id] (poll() 안에서만 접근)
+    private volatile int settledId = -1; // 이 id 이하는 모두 커밋됐다고 보는 커서 (settle-window 전에 본 최대 id)
+
+    public EventStreamHub(EventRepository eventRepository,
+                          @Value("${events.stream.timeout:30m}") Duration emitterTimeout,
+                          @Value("${events.stream.settle-window:10s}") Duration settleWindow,
+                          @Value("${events.stream.send-threads:4}") int sendThreads) {
+        this.eventRepository = eventRepository;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.settleWindowNanos = settleWindow.toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        // 작업은 구독자당 최대 1개(drain)만 대기하므로 큐 길이는 구독자 수로 제한됨
+        this.sendExecutor = new ThreadPoolExecutor(sendThreads, sendThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "event-stream-send-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * userId 의 새 이벤트 구독을 시작합니다.
+     * @param lastEventId 재연결 시 브라우저가 보내는 Last-Event-ID. 있으면 그 이후 이벤트를 먼저 재전송합니다.
+     */
+    public SseEmitter subscribe(String userId, Integer lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        // 재전송분을 먼저 대기열에 넣은 뒤 등록하므로 poll() 이 넣는 이벤트는 항상 그 뒤에 전송됨
+        if (lastEventId != null) {
+            subscriber.startAfter(lastEventId);
+            replay(subscriber, lastEventId);
+        }
+        // poll() 과 같은 잠금 - 추적 시작/중단과 등록이 엇갈려 그 사이 이벤트를 놓치지 않도록
+        synchronized (this) {
+            if (lastSeenId.get() < 0) {
+                int maxId = eventRepository.findMaxId();
+                settledId = maxId;
+                lastSeenId.set(maxId);
+            }
+            if (lastEventId == null) {
+                subscriber.startAfter(lastSeenId.get());
+            }
+            subscribers.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        return emitter;
+    }
+
+    private void replay(Subscriber subscriber, int lastEventId) {
+        List<Event> missed = eventRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                subscriber.userId, lastEventId, PageRequest.of(0, MAX_REPLAY));
+        int settled = settledId;
+        for (Event event : missed) {
+            // 오름차순으로 보내므로, settledId 이하인 이 이벤트까지는 빠짐없이 보낸 셈
+            subscriber.offer(new EventDto(event), Math.max(lastEventId, Math.min(settled, event.getId())));
+        }
+        if (missed.size() == MAX_REPLAY) {
+            // 놓친 이벤트가 너무 많음 - 클라이언트가 REST(/api/events, /page)로 다시 불러오도록 알림
+            subscriber.offerSignal("resync");
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * 구독 중인 사용자의 새 이벤트를 조회해 전달합니다.
+     * settle-window 동안은 같은 구간을 다시 읽어, 앞선 id 가 늦게 커밋돼도 놓치지 않습니다.
+     * 구독자가 없으면 쿼리하지 않고, 다음 구독 시점의 MAX(id) 부터 다시 추적합니다.
+     */
+    @Scheduled(fixedDelayString = "${events.stream.poll-interval:2s}")
+    public synchronized void poll() {
+        if (subscribers.isEmpty()) {
+            lastSeenId.set(-1);
+            settledId = -1;
+            seenMarks.clear();
+            return;
+        }
+        int from = settledId;
+        int resumeId = settledId;
+        List<Event> fresh;
+        do {
+            fresh = eventRepository.findByIdGreaterThanAndUserIdInOrderByIdAsc(
+                    from, Set.copyOf(subscribers.keySet()), PageRequest.of(0, POLL_BATCH_SIZE));
+            if (fresh.isEmpty()) {
+                break;
+            }
+            dispatch(fresh, resumeId);
+            from = fresh.get(fresh.size() - 1).getId();
+            lastSeenId.accumulateAndGet(from, Math::max);
+        } while (fresh.size() == POLL_BATCH_SIZE);
+
+        advanceSettledId();
+    }
+
+    // settle-window 보다 오래전 폴링에서 본 최대 id 까지 커서를 올리고, 구독자별 중복 제거 기록도 그 아래는 버림
+    private void advanceSettledId() {
+        long now = System.nanoTime();
+        seenMarks.addLast(new long[]{now, lastSeenId.get()});
+        int settled = settledId;
+        while (!seenMarks.isEmpty() && now - seenMarks.peekFirst()[0] >= settleWindowNanos) {
+            settled = (int) Math.max(settled, seenMarks.pollFirst()[1]);
+        }
+        if (settled != settledId) {
+            settledId = settled;
+            int floor = settled;
+            subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.forgetUpTo(floor)));
+        }
+    }
+
+    /** [추가] 일괄 수집이 커밋되면 다음 폴링 주기를 기다리지 않고 바로 전달합니다. */
+    @Async
+    @TransactionalEventListener
+    public void onEventsIngested(EventsIngestedEvent ingested) {
+        if (ingested.userIds().stream().anyMatch(subscribers::containsKey)) {
+            poll();
+        }
+    }
+
+    private void dispatch(List<Event> events, int resumeId) {
+        Map<String, List<EventDto>> byUser = events.stream()
+                .collect(Collectors.groupingBy(Event::getUserId, Collectors.mapping(EventDto::new, Collectors.toList())));
+        byUser.forEach((userId, dtos) -> {
+            Set<Subscriber> targets = subscribers.get(userId);
+            if (targets == null) {
+                return;
+            }
+            for (Subscriber subscriber : targets) {
+                for (EventDto dto : dtos) {
+                    subscriber.offer(dto, resumeId);
+                }
+            }
+        });
+    }
+
+    /** 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주기적으로 SSE 주석을 보냅니다. (전송 중인 연결은 건너뜀) */
+    @Scheduled(fixedRateString = "${events.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offerSignal(null)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    /**
+     * 구독자 하나의 전송 대기열
+     * offer* 는 대기열에 넣기만 하고, 실제 SseEmitter.send(블로킹)는 sendExecutor 에서 구독자당 한 스레드씩 순서대로 수행합니다.
+     */
+    private final class Subscriber {
+        private final String userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingSends = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        // 이미 보낸(대기열에 넣은) id - sentFloor 이하는 모두 보낸 것으로 보고, 그 위는 sentIds 로 확인 (this 로 보호)
+        private int sentFloor;
+        private final NavigableSet<Integer> sentIds = new TreeSet<>();
+
+        Subscriber(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // 이 id 이후 이벤트부터 받음
+        synchronized void startAfter(int id) {
+            sentFloor = id;
+        }
+
+        // resumeId: 재연결 시 여기서부터 다시 받으면 빠지는 이벤트가 없는 지점 (SSE id 로 전송)
+        void offer(EventDto event, int resumeId) {
+            synchronized (this) {
+                if (event.getId() <= sentFloor || !sentIds.add(event.getId())) {
+                    return;
+                }
+            }
+            enqueue(SseEmitter.event().id(String.valueOf(resumeId)).name("event").data(event));
+        }
+
+        // name 이 null 이면 하트비트 주석(": ping"), 아니면 데이터 없는 이름 있는 이벤트
+        void offerSignal(String name) {
+            if (name == null) {
+                if (pendingSends.get() > 0) {
+                    return; // 보낼 데이터가 있으면 하트비트 불필요
+                }
+                enqueue(SseEmitter.event().comment("ping"));
+            } else {
+                enqueue(SseEmitter.event().name(name).data(""));
+            }
+        }
+
+        synchronized void forgetUpTo(int settledId) {
+            if (settledId > sentFloor) {
+                sentFloor = settledId;
+            }
+            sentIds.headSet(sentFloor, true).clear();
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (pendingSends.incrementAndGet() > MAX_PENDING_SENDS) {
+                log.warn("SSE 전송 대기열 초과로 연결을 끊습니다 (userId={})", userId);
+                close(null);
+                return;
+            }
+            outbox.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    close(e); // 종료 중
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = outbox.poll()) != null) {
+                    pendingSends.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !outbox.isEmpty()) {
+                scheduleDrain(); // drain 종료 직전에 들어온 항목
+            }
+        }
+
+        private void close(Throwable cause) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            outbox.clear();
+            unsubscribe(this);
+            if (cause == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(cause);
+            }
+        }
+    }
+}
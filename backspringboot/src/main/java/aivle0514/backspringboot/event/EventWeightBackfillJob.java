@@ -0,0 +1,86 @@
+package aivle0514.backspringboot.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * [추가] events.weight_grams 백필 작업
+ * weight_grams 컬럼 추가 이전에 쌓인 행들의 weight_info 문자열을 숫자로 변환해 채웁니다.
+ * 앱 기동 후 백그라운드에서 id 순으로 batchSize 개씩 읽고 JDBC 배치 UPDATE 로 반영합니다.
+ * 새로 들어오는 행은 DB 트리거(trg_events_weight_grams) / Event.onCreate 가 채우므로 한 번만 돌면 됩니다.
+ * [수정] 기본은 꺼짐 - 백필은 DB/migrations/001 이 한 번 실행합니다.
+ * 변환 불가 행은 NULL 로 남아 켤 때마다 다시 훑으므로(인덱스 없음), 마이그레이션의 UPDATE 를 건너뛴 큰 테이블에서
+ * 한 인스턴스만 한 번 켜서 돌리고 다시 끕니다.
+ */
+@Slf4j
+@Component
+public class EventWeightBackfillJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public EventWeightBackfillJob(JdbcTemplate jdbcTemplate,
+                                  @Value("${events.weight-backfill.enabled:false}") boolean enabled,
+                                  @Value("${events.weight-backfill.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    private record PendingRow(int id, String weightInfo) {}
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int lastId = 0;
+            int converted = 0;
+            int unparsable = 0;
+            while (true) {
+                List<PendingRow> rows = jdbcTemplate.query(
+                        "SELECT id, weight_info FROM events " +
+                        "WHERE id > ? AND weight_grams IS NULL AND weight_info IS NOT NULL " +
+                        "ORDER BY id LIMIT ?",
+                        (rs, i) -> new PendingRow(rs.getInt("id"), rs.getString("weight_info")),
+                        lastId, batchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                List<Object[]> updates = new ArrayList<>(rows.size());
+                for (PendingRow row : rows) {
+                    Double grams = Event.parseWeightGrams(row.weightInfo());
+                    if (grams != null) {
+                        updates.add(new Object[]{grams, row.id()});
+                    } else {
+                        unparsable++; // 변환 불가 값은 NULL 로 남기고 keyset(id)으로 건너뜀
+                    }
+                }
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate("UPDATE events SET weight_grams = ? WHERE id = ?", updates);
+                    converted += updates.size();
+                }
+                lastId = rows.get(rows.size() - 1).id();
+            }
+            if (converted > 0 || unparsable > 0) {
+                log.info("events.weight_grams 백필 완료: 변환 {}건, 변환 불가 {}건", converted, unparsable);
+            }
+        } catch (DataAccessException e) {
+            // weight_grams 컬럼이 아직 없는 DB (DB/migrations 미적용) 등
+            log.warn("events.weight_grams 백필을 건너뜁니다: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package aivle0514.backspringboot.event;
+
+import java.util.List;
+
+/**
+ * [추가] 이벤트가 일괄 수집(EventIngestService)되어 커밋되었음을 알리는 애플리케이션 이벤트
+ * @param userIds 새 이벤트가 들어온 사용자 (중복 제거)
+ * @param eventIds 새로 생성된 events.id (입력 순서)
+ */
+public record EventsIngestedEvent(List<String> userIds, List<Integer> eventIds) {}
@@ -0,0 +1,15 @@
+package aivle0514.backspringboot.event;
+
+import java.time.LocalDate;
+
+/**
+ * [추가] 고양이 + 이벤트 종류 + 시간(날짜, 시)별 DB 집계 결과 (EventRepository 인터페이스 프로젝션)
+ * SELECT cat_name, event_type, DATE(event_time), HOUR(event_time), SUM(weight_grams) ... GROUP BY 위 4개
+ */
+public interface HourlyIntakeAggregate {
+    String getCatName();
+    String getEventType();
+    LocalDate getStatDate();
+    Integer getStatHour();
+    Double getTotalWeight(); // weight_grams 가 모두 NULL 이면 null
+}
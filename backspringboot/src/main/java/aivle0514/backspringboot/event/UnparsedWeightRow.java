@@ -0,0 +1,14 @@
+package aivle0514.backspringboot.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * [추가] weight_grams 가 아직 채워지지 않은 이벤트 (EventRepository 인터페이스 프로젝션)
+ * 트리거가 없는 DB 에 다른 서비스가 직접 INSERT 한 행 등 - 집계 시 weight_info 를 Java 에서 변환해 더합니다.
+ */
+public interface UnparsedWeightRow {
+    String getCatName();
+    String getEventType();
+    LocalDateTime getEventTime();
+    String getWeightInfo();
+}
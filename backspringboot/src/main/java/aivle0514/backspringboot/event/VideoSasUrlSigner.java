@@ -0,0 +1,115 @@
+package aivle0514.backspringboot.event;
+
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.sas.BlobSasPermission;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * 이벤트 영상(Blob)의 읽기 전용 SAS URL 발급기
+ * 발급한 URL 을 (container, blob) 단위로 캐시해 두었다가, 만료 reuseMargin 전까지는 서명을 다시 계산하지 않고 재사용합니다.
+ * 캐시 적중률은 Micrometer 지표(cache.gets, cache.size 등 / cache="event.video.sas")로 노출됩니다.
+ */
+@Component
+public class VideoSasUrlSigner {
+
+    private final BlobServiceClient blobServiceClient;
+    private final Duration validity;
+    private final Duration reuseMargin;
+    private final Cache<BlobLocation, SignedUrl> cache;
+
+    public VideoSasUrlSigner(@Value("${azure.storage.connection-string}") String connectionString,
+                             @Value("${azure.storage.sas.validity:1h}") Duration validity,
+                             @Value("${azure.storage.sas.reuse-margin:10m}") Duration reuseMargin,
+                             @Value("${azure.storage.sas.cache-size:10000}") long cacheSize,
+                             MeterRegistry meterRegistry) {
+        if (reuseMargin.compareTo(validity) >= 0) {
+            throw new IllegalArgumentException("azure.storage.sas.reuse-margin 은 validity 보다 작아야 합니다.");
+        }
+        this.blobServiceClient = new BlobServiceClientBuilder()
+                .connectionString(connectionString)
+                .buildClient();
+        this.validity = validity;
+        this.reuseMargin = reuseMargin;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new ReuseUntilMargin())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "event.video.sas");
+    }
+
+    /** Blob 위치 (컨테이너 + Blob 이름) */
+    public record BlobLocation(String containerName, String blobName) {
+
+        /**
+         * https://<account>.blob.core.windows.net/<container>/<blob> 형태의 URL 을 분해합니다.
+         * @throws IllegalArgumentException 컨테이너/Blob 경로가 없는 URL
+         */
+        public static BlobLocation parse(String blobUrl) {
+            String path = URI.create(blobUrl).getRawPath();
+            if (path == null || path.length() < 2) {
+                throw new IllegalArgumentException("Blob 경로가 없는 URL 입니다: " + blobUrl);
+            }
+            String[] parts = path.substring(1).split("/", 2);
+            if (parts.length < 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+                throw new IllegalArgumentException("컨테이너/Blob 이름을 찾을 수 없습니다: " + blobUrl);
+            }
+            return new BlobLocation(parts[0], parts[1]);
+        }
+    }
+
+    private record SignedUrl(String url, OffsetDateTime expiresAt) {}
+
+    public String sign(String containerName, String blobName) {
+        return sign(new BlobLocation(containerName, blobName));
+    }
+
+    public String sign(BlobLocation location) {
+        return cache.get(location, this::createSignedUrl).url();
+    }
+
+    private SignedUrl createSignedUrl(BlobLocation location) {
+        BlobClient blobClient = blobServiceClient.getBlobContainerClient(location.containerName())
+                .getBlobClient(location.blobName());
+        BlobSasPermission permissions = new BlobSasPermission().setReadPermission(true);
+        OffsetDateTime expiryTime = OffsetDateTime.now().plus(validity);
+
+        BlobServiceSasSignatureValues sasValues = new BlobServiceSasSignatureValues(expiryTime, permissions);
+        String sasToken = blobClient.generateSas(sasValues);
+
+        return new SignedUrl(String.format("%s?%s", blobClient.getBlobUrl(), sasToken), expiryTime);
+    }
+
+    // 각 항목은 자신의 만료 시각 - reuseMargin 까지만 캐시에 남습니다.
+    private class ReuseUntilMargin implements Expiry<BlobLocation, SignedUrl> {
+        @Override
+        public long expireAfterCreate(BlobLocation key, SignedUrl value, long currentTime) {
+            Duration remaining = Duration.between(OffsetDateTime.now(), value.expiresAt().minus(reuseMargin));
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(BlobLocation key, SignedUrl value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(BlobLocation key, SignedUrl value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
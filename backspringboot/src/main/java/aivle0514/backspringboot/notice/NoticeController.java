@@ -4,6 +4,9 @@ import aivle0514.backspringboot.notice.NoticeDto;
 import lombok.*;
 import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import aivle0514.backspringboot.common.CursorPage;
+import aivle0514.backspringboot.common.ETags;
 import jakarta.validation.Valid;
 
 @RestController
@@ -11,18 +14,40 @@ import jakarta.validation.Valid;
 @RequiredArgsConstructor
 public class NoticeController {
 
+    private static final int MAX_SCROLL_SIZE = 100; // [추가] 커서 목록 한 번에 최대 개수
+
     private final NoticeService service;
 
+    // [추가] If-None-Match 가 현재 ETag 와 같으면 목록을 조회하지 않고 304
     @GetMapping
     public Page<NoticeDto.Response> list(@RequestParam(defaultValue="0") int page,
                                          @RequestParam(defaultValue="10") int size,
-                                         @RequestParam(required=false) String category) {
-        return service.list(page, size, category).map(NoticeDto.Response::from);
+                                         @RequestParam(required=false) String category,
+                                         WebRequest webRequest) {
+        if (ETags.checkNotModified(webRequest, service.getListETag())) {
+            return null; // 304 Not Modified (본문 없음)
+        }
+        // [수정] 미반영 조회수 포함 (캐시/DB 를 읽기 전의 조회수 반영 세대를 넘겨, 그 사이 반영된 글은 다시 읽음)
+        long viewGeneration = service.viewGeneration();
+        return service.listAsDto(page, size, category, viewGeneration).map(r -> service.withPendingViews(r, viewGeneration));
+    }
+
+    /**
+     * [추가] 무한 스크롤 목록 - COUNT(*) 없이 커서로 다음 페이지 조회 (고정 공지 먼저)
+     * 예: GET /api/notices/scroll?size=20&cursor=<이전 응답의 nextCursor>
+     */
+    @GetMapping("/scroll")
+    public CursorPage<NoticeDto.Response> scroll(@RequestParam(required=false) String cursor,
+                                                 @RequestParam(defaultValue="10") int size,
+                                                 @RequestParam(required=false) String category) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        return service.scrollAsDto(cursor, pageSize, category);
     }
 
     @GetMapping("/{id}")
     public NoticeDto.Response get(@PathVariable Long id) {
-        return NoticeDto.Response.from(service.get(id));
+        long viewGeneration = service.viewGeneration();
+        return service.withPendingViews(NoticeDto.Response.from(service.get(id)), viewGeneration);
     }
 
     @PostMapping
@@ -34,7 +59,9 @@ public class NoticeController {
     @PutMapping("/{id}")
     public NoticeDto.Response update(@PathVariable Long id, @Valid @RequestBody NoticeDto.UpdateRequest req) {
         Notice.Priority pr = req.getPriority()!=null ? Notice.Priority.valueOf(req.getPriority()) : null;
-        return NoticeDto.Response.from(service.update(id, req.getAuthor(), req.getTitle(), req.getContent(), req.getCategory(), pr, req.getIsPinned()));
+        long viewGeneration = service.viewGeneration();
+        return service.withPendingViews(
+                NoticeDto.Response.from(service.update(id, req.getAuthor(), req.getTitle(), req.getContent(), req.getCategory(), pr, req.getIsPinned())), viewGeneration);
     }
 
     @DeleteMapping("/{id}")
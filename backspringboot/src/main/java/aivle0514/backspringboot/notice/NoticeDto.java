@@ -27,7 +27,7 @@ public class NoticeDto {
                   private Boolean isPinned;
     }
 
-    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder(toBuilder = true)
     public static class Response {
         private Long id;
         private String title;
@@ -1,9 +1,13 @@
 package aivle0514.backspringboot.notice;
 
+import aivle0514.backspringboot.common.VersionStamp;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Repository
@@ -13,4 +17,32 @@ public interface NoticeRepository extends JpaRepository<Notice, Long> {
 
     List<Notice> findAllByAuthor(String author);
     Optional<Notice> findByIdAndAuthor(Long id, String author);
+
+    // [추가] 공지 목록 전체의 버전 (ETag 용) - 조회수는 updatedAt 이 아니라 ViewCounter 의 반영 세대로 따로 구분
+    @Query("SELECT COUNT(n) AS total, MAX(n.updatedAt) AS latest FROM Notice n")
+    VersionStamp findVersion();
+
+    /**
+     * [추가] 키셋 페이지네이션 - 고정 공지 먼저, 최신순 첫 페이지 (COUNT 없음)
+     */
+    @Query("SELECT n FROM Notice n " +
+           "WHERE (:category IS NULL OR n.category = :category) " +
+           "ORDER BY n.isPinned DESC, n.createdAt DESC, n.id DESC")
+    List<Notice> findLatest(@Param("category") String category, Pageable pageable);
+
+    /**
+     * [추가] 키셋 페이지네이션 - 커서 (isPinned, createdAt, id) 이후 페이지 (idx_notices_pinned_created 순서)
+     * 고정 공지 구간의 커서라면 같은 고정 구간의 나머지와 고정되지 않은 공지 전체가 뒤에 옵니다.
+     */
+    @Query("SELECT n FROM Notice n " +
+           "WHERE (:category IS NULL OR n.category = :category) " +
+           "AND ((n.isPinned = :cursorPinned " +
+           "      AND (n.createdAt < :cursorTime OR (n.createdAt = :cursorTime AND n.id < :cursorId))) " +
+           "     OR (:cursorPinned = true AND n.isPinned = false)) " +
+           "ORDER BY n.isPinned DESC, n.createdAt DESC, n.id DESC")
+    List<Notice> findBeforeCursor(@Param("category") String category,
+                                  @Param("cursorPinned") boolean cursorPinned,
+                                  @Param("cursorTime") LocalDateTime cursorTime,
+                                  @Param("cursorId") Long cursorId,
+                                  Pageable pageable);
 }
@@ -1,16 +1,41 @@
 package aivle0514.backspringboot.notice;
 
+import aivle0514.backspringboot.common.CursorPage;
+import aivle0514.backspringboot.common.ETags;
+import aivle0514.backspringboot.common.ViewCounter;
+import aivle0514.backspringboot.config.CacheConfig;
 import lombok.*;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class NoticeService {
 
     private final NoticeRepository noticeRepository;
+    private final ViewCounter viewCounter;
+
+    // [추가] 공지 목록의 ETag (어느 공지든 추가/수정/삭제되면 바뀜)
+    public String getListETag() {
+        return ETags.of("notices", "all:" + viewCounter.generation(ViewCounter.Board.NOTICES), noticeRepository.findVersion()); // [수정] 조회수 반영 세대 포함
+    }
+
+    // [추가] 목록 DTO - 앞쪽 페이지는 캐시 (엔티티가 아닌 DTO 를 캐시)
+    // [수정] 키에 조회수 반영 세대를 넣어, 반영 뒤에는 비우지 않고 새 키로 읽음 (이전 세대는 만료 시간에 정리)
+    @Cacheable(cacheNames = CacheConfig.NOTICE_PAGES, key = "#viewGeneration + ':' + #category + ':' + #size + ':' + #page",
+               condition = "#page < T(aivle0514.backspringboot.config.CacheConfig).BOARD_CACHED_PAGES"
+                       + " && #size <= T(aivle0514.backspringboot.config.CacheConfig).BOARD_CACHED_MAX_SIZE")
+    public Page<NoticeDto.Response> listAsDto(int page, int size, String category, long viewGeneration) {
+        return list(page, size, category).map(NoticeDto.Response::from);
+    }
 
     public Page<Notice> list(int page, int size, String category) {
         Sort sort = Sort.by(Sort.Direction.DESC, "isPinned").and(Sort.by(Sort.Direction.DESC, "createdAt"));
@@ -20,16 +45,54 @@ public class NoticeService {
         return noticeRepository.findAllByOrderByIsPinnedDescCreatedAtDesc(pageable);
     }
 
+    /**
+     * [추가] 무한 스크롤용 커서 페이지 - COUNT(*) 없이 (isPinned, createdAt, id) 키셋으로 조회
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    public CursorPage<NoticeDto.Response> scrollAsDto(String cursor, int size, String category) {
+        long viewGeneration = viewGeneration();
+        PageRequest limit = PageRequest.of(0, size + 1); // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+        String categoryOrNull = (category != null && !category.isBlank()) ? category : null;
+
+        List<Notice> notices;
+        if (cursor == null || cursor.isBlank()) {
+            notices = noticeRepository.findLatest(categoryOrNull, limit);
+        } else {
+            NoticeCursor c = CursorPage.decode(cursor, 3,
+                    keys -> new NoticeCursor(Boolean.parseBoolean(keys[0]), LocalDateTime.parse(keys[1]), Long.valueOf(keys[2])));
+            notices = noticeRepository.findBeforeCursor(categoryOrNull, c.pinned(), c.createdAt(), c.id(), limit);
+        }
+        return CursorPage.of(notices, size, n -> withPendingViews(NoticeDto.Response.from(n), viewGeneration),
+                n -> CursorPage.encode(n.isPinned(), n.getCreatedAt(), n.getId()));
+    }
+
+    private record NoticeCursor(boolean pinned, LocalDateTime createdAt, Long id) {}
+
     public Notice get(Long id) {
         return noticeRepository.findById(id).orElseThrow();
     }
 
-    @Transactional
+    // [수정] 엔티티를 읽고 UPDATE 하지 않고 메모리에 모아 두었다가 주기적으로 일괄 반영 (ViewCounter)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // DB 를 쓰지 않으므로 커넥션을 잡지 않음
     public void increaseViewCount(Long id) {
-        Notice n = noticeRepository.findById(id).orElseThrow();
-        n.setViews(n.getViews() + 1);
+        viewCounter.increment(ViewCounter.Board.NOTICES, id);
+    }
+
+    // [추가] 조회수 반영 세대 - 조회수를 읽기 전에 받아 두었다가 목록 캐시 키와 withPendingViews 에 넘김 (ViewCounter 참고)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long viewGeneration() {
+        return viewCounter.generation(ViewCounter.Board.NOTICES);
+    }
+
+    // [추가] 아직 DB 에 반영되지 않은 조회수를 더한 응답 (캐시된 DTO 는 그대로 두고 복사본에 더함)
+    // [수정] viewGeneration: views 를 읽기 전에 받은 세대 - 그 사이 반영이 커밋됐으면 그 글의 views 를 다시 읽음
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public NoticeDto.Response withPendingViews(NoticeDto.Response response, long viewGeneration) {
+        int views = viewCounter.withPending(ViewCounter.Board.NOTICES, response.getId(), response.getViews(), viewGeneration);
+        return views == response.getViews() ? response : response.toBuilder().views(views).build();
     }
 
+    @CacheEvict(cacheNames = CacheConfig.NOTICE_PAGES, allEntries = true)
     @Transactional
     public Notice create(String title, String content, String author, String category,
                          Notice.Priority priority, Boolean isPinned) {
@@ -44,6 +107,7 @@ public class NoticeService {
         return noticeRepository.save(n);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.NOTICE_PAGES, allEntries = true)
     @Transactional
     public Notice update(Long id, String author, String title, String content,
                          String category, Notice.Priority priority, Boolean isPinned) {
@@ -56,6 +120,7 @@ public class NoticeService {
         return n;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.NOTICE_PAGES, allEntries = true)
     @Transactional
     public void delete(Long id, String author) {
         Notice n = noticeRepository.findByIdAndAuthor(id, author).orElseThrow();
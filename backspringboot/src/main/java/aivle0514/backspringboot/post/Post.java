@@ -33,7 +33,8 @@ public class Post {
     @Column(nullable = false, length = 100)
     private String category;
 
-    @Column(nullable = false)
+    // [수정] 조회수는 ViewCounter 가 SQL 로만 더함 - 글 수정 시 읽어 둔 옛 값으로 덮어쓰지 않도록 updatable = false
+    @Column(nullable = false, updatable = false)
     @Builder.Default // Builder 사용 시 기본값을 설정해주는 어노테이션
     private int views = 0;
 
@@ -45,9 +46,19 @@ public class Post {
   @com.fasterxml.jackson.annotation.JsonIgnore
   private List<PostComment> postComments;
 
+    // [추가] 마지막 생성/수정 시각 (목록 ETag 계산용)
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @PrePersist
     void onCreate() {
         if (createdAt == null) createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 
     // 수동으로 만든 생성자와 @Builder는 삭제합니다.
@@ -1,8 +1,11 @@
 package aivle0514.backspringboot.post;
 
+import aivle0514.backspringboot.config.CacheConfig;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -18,6 +21,7 @@ public class PostCommentService {
         return commentRepository.findByPostIdOrderByIdAsc(postId);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.POST_PAGES, allEntries = true) // [추가] 목록의 댓글 수
     public PostComment add(Long postId, String author, String content) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("게시물이 없습니다: " + postId));
@@ -29,10 +33,13 @@ public class PostCommentService {
                         .content(content)
                         .build()
         );
+        post.setUpdatedAt(LocalDateTime.now()); // [추가] 댓글 수가 바뀌므로 게시글 목록 ETag 갱신
+
 
         return saved;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.POST_PAGES, allEntries = true) // [추가] 목록의 댓글 수
     public void delete(Long postId, Long commentId, String authorOrNull) {
         PostComment c = commentRepository.findById(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("댓글이 없습니다: " + commentId));
@@ -46,5 +53,6 @@ public class PostCommentService {
         }
 
         commentRepository.delete(c);
+        c.getPost().setUpdatedAt(LocalDateTime.now()); // [추가] 댓글 수가 바뀌므로 게시글 목록 ETag 갱신
     }
 }
\ No newline at end of file
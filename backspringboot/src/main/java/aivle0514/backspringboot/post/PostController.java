@@ -3,6 +3,9 @@ package aivle0514.backspringboot.post;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import aivle0514.backspringboot.common.CursorPage;
+import aivle0514.backspringboot.common.ETags;
 import jakarta.validation.Valid;
 
 @RestController
@@ -10,15 +13,37 @@ import jakarta.validation.Valid;
 @RequiredArgsConstructor
 public class PostController {
 
+    private static final int MAX_SCROLL_SIZE = 100; // [추가] 커서 목록 한 번에 최대 개수
+
     private final PostService service;
 
     // 목록: 쿼리 파라미터 방식 유지 (category, q 지원)
+    // [추가] If-None-Match 가 현재 ETag 와 같으면 목록을 조회하지 않고 304
     @GetMapping
     public Page<PostDto.Response> list(@RequestParam(defaultValue = "0") int page,
                                        @RequestParam(defaultValue = "10") int size,
                                        @RequestParam(required = false) String category,
-                                       @RequestParam(required = false) String q) {
-        return service.listAsDto(page, size, category, q);
+                                       @RequestParam(required = false) String q,
+                                       WebRequest webRequest) {
+        if (ETags.checkNotModified(webRequest, service.getListETag())) {
+            return null; // 304 Not Modified (본문 없음)
+        }
+        // [수정] 미반영 조회수 포함 (캐시/DB 를 읽기 전의 조회수 반영 세대를 넘겨, 그 사이 반영된 글은 다시 읽음)
+        long viewGeneration = service.viewGeneration();
+        return service.listAsDto(page, size, category, q, viewGeneration).map(r -> service.withPendingViews(r, viewGeneration));
+    }
+
+    /**
+     * [추가] 무한 스크롤 목록 - COUNT(*) 없이 커서로 다음 페이지 조회
+     * 예: GET /api/posts/scroll?size=20&category=자유&cursor=<이전 응답의 nextCursor>
+     */
+    @GetMapping("/scroll")
+    public CursorPage<PostDto.Response> scroll(@RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "10") int size,
+                                               @RequestParam(required = false) String category,
+                                               @RequestParam(required = false) String q) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        return service.scrollAsDto(cursor, pageSize, category, q);
     }
 
     // 단건 조회
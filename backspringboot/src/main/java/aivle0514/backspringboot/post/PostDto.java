@@ -23,7 +23,7 @@ public class PostDto {
                   private String category;
     }
 
-    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder(toBuilder = true)
     public static class Response {
         private Long id;
         private String title;
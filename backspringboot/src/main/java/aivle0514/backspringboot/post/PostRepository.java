@@ -1,9 +1,13 @@
 package aivle0514.backspringboot.post;
 
+import aivle0514.backspringboot.common.VersionStamp;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Repository
@@ -13,4 +17,32 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     List<Post> findAllByAuthor(String author);
     Optional<Post> findByIdAndAuthor(Long id, String author);
+
+    // [추가] 게시글 목록 전체의 버전 (ETag 용) - 댓글 수 변경도 updatedAt 에 반영됨 (조회수는 ViewCounter 의 반영 세대로 따로 구분)
+    @Query("SELECT COUNT(p) AS total, MAX(p.updatedAt) AS latest FROM Post p")
+    VersionStamp findVersion();
+
+    /**
+     * [추가] 키셋 페이지네이션 - 최신순 첫 페이지 (COUNT 없음)
+     * category/q 가 null 이면 해당 조건은 무시됩니다.
+     */
+    @Query("SELECT p FROM Post p " +
+           "WHERE (:category IS NULL OR p.category = :category) " +
+           "AND (:q IS NULL OR p.title LIKE CONCAT('%', :q, '%') OR p.content LIKE CONCAT('%', :q, '%')) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findLatest(@Param("category") String category, @Param("q") String q, Pageable pageable);
+
+    /**
+     * [추가] 키셋 페이지네이션 - 커서 (createdAt, id) 이후 페이지
+     * idx_posts_created_at / idx_posts_category_created 는 InnoDB 에서 id 를 함께 담고 있어 OFFSET 없이 이어서 읽습니다.
+     */
+    @Query("SELECT p FROM Post p " +
+           "WHERE (:category IS NULL OR p.category = :category) " +
+           "AND (:q IS NULL OR p.title LIKE CONCAT('%', :q, '%') OR p.content LIKE CONCAT('%', :q, '%')) " +
+           "AND (p.createdAt < :cursorTime OR (p.createdAt = :cursorTime AND p.id < :cursorId)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findBeforeCursor(@Param("category") String category, @Param("q") String q,
+                                @Param("cursorTime") LocalDateTime cursorTime,
+                                @Param("cursorId") Long cursorId,
+                                Pageable pageable);
 }
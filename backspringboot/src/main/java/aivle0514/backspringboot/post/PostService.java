@@ -1,18 +1,41 @@
 package aivle0514.backspringboot.post;
 
+import aivle0514.backspringboot.common.CursorPage;
+import aivle0514.backspringboot.common.ETags;
+import aivle0514.backspringboot.common.TimeCursor;
+import aivle0514.backspringboot.common.ViewCounter;
+import aivle0514.backspringboot.config.CacheConfig;
 import lombok.*;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class PostService {
 
     private final PostRepository postRepository;
+    private final ViewCounter viewCounter;
+
+    // [추가] 게시글 목록의 ETag (어느 게시글이든 추가/수정/삭제되면 바뀜)
+    // [수정] 조회수는 updatedAt 을 바꾸지 않으므로 조회수 반영 세대를 함께 넣음
+    public String getListETag() {
+        return ETags.of("posts", "all:" + viewCounter.generation(ViewCounter.Board.POSTS), postRepository.findVersion());
+    }
 
-    public Page<PostDto.Response> listAsDto(int page, int size, String category, String q) {
+    // [수정] 검색어 없는 앞쪽 페이지는 캐시 (목록 쿼리 + COUNT 생략)
+    // [수정] 키에 조회수 반영 세대를 넣어, 반영 뒤에는 비우지 않고 새 키로 읽음 (이전 세대는 만료 시간에 정리)
+    @Cacheable(cacheNames = CacheConfig.POST_PAGES, key = "#viewGeneration + ':' + #category + ':' + #size + ':' + #page",
+               condition = "#page < T(aivle0514.backspringboot.config.CacheConfig).BOARD_CACHED_PAGES"
+                       + " && #size <= T(aivle0514.backspringboot.config.CacheConfig).BOARD_CACHED_MAX_SIZE"
+                       + " && (#q == null || #q.isBlank())")
+    public Page<PostDto.Response> listAsDto(int page, int size, String category, String q, long viewGeneration) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Post> posts;
         if (q != null && !q.isBlank()) {
@@ -26,11 +49,34 @@ public class PostService {
         return posts.map(PostDto.Response::from);
     }
 
+    /**
+     * [추가] 무한 스크롤용 커서 페이지 - COUNT(*) 없이 (createdAt, id) 키셋으로 조회하므로 깊은 페이지도 첫 페이지와 비용이 같음
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    public CursorPage<PostDto.Response> scrollAsDto(String cursor, int size, String category, String q) {
+        long viewGeneration = viewGeneration();
+        PageRequest limit = PageRequest.of(0, size + 1); // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+        String categoryOrNull = (category != null && !category.isBlank()) ? category : null;
+        String qOrNull = (q != null && !q.isBlank()) ? q : null;
+
+        List<Post> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = postRepository.findLatest(categoryOrNull, qOrNull, limit);
+        } else {
+            TimeCursor c = TimeCursor.decode(cursor);
+            posts = postRepository.findBeforeCursor(categoryOrNull, qOrNull, c.createdAt(), c.id(), limit);
+        }
+        return CursorPage.of(posts, size, p -> withPendingViews(PostDto.Response.from(p), viewGeneration),
+                p -> CursorPage.encode(p.getCreatedAt(), p.getId()));
+    }
+
     public PostDto.Response getAsDto(Long id) {
+        long viewGeneration = viewGeneration();
         Post p = postRepository.findById(id).orElseThrow();
-        return PostDto.Response.from(p);
+        return withPendingViews(PostDto.Response.from(p), viewGeneration);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.POST_PAGES, allEntries = true)
     @Transactional
     public PostDto.Response createAsDto(PostDto.CreateRequest req) {
         Post p = new Post();
@@ -44,15 +90,18 @@ public class PostService {
         return PostDto.Response.from(saved);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.POST_PAGES, allEntries = true)
     @Transactional
     public PostDto.Response updateAsDto(Long id, PostDto.UpdateRequest req) {
+        long viewGeneration = viewGeneration();
         Post p = postRepository.findByIdAndAuthor(id, req.getAuthor()).orElseThrow();
         if (req.getTitle() != null) p.setTitle(req.getTitle());
         if (req.getContent() != null) p.setContent(req.getContent());
         if (req.getCategory() != null) p.setCategory(req.getCategory());
-        return PostDto.Response.from(p);
+        return withPendingViews(PostDto.Response.from(p), viewGeneration); // [수정] 미반영 조회수 포함
     }
 
+    @CacheEvict(cacheNames = CacheConfig.POST_PAGES, allEntries = true)
     @Transactional
     public void delete(Long id, String author, String userRole) {
         Post p = "admin".equals(userRole)
@@ -61,9 +110,23 @@ public class PostService {
         postRepository.delete(p);
     }
 
-    @Transactional
+    // [수정] 엔티티를 읽고 UPDATE 하지 않고 메모리에 모아 두었다가 주기적으로 일괄 반영 (ViewCounter)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // DB 를 쓰지 않으므로 커넥션을 잡지 않음
     public void increaseViewCount(Long id) {
-        Post p = postRepository.findById(id).orElseThrow();
-        p.setViews(p.getViews() + 1);
+        viewCounter.increment(ViewCounter.Board.POSTS, id);
+    }
+
+    // [추가] 조회수 반영 세대 - 조회수를 읽기 전에 받아 두었다가 목록 캐시 키와 withPendingViews 에 넘김 (ViewCounter 참고)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long viewGeneration() {
+        return viewCounter.generation(ViewCounter.Board.POSTS);
+    }
+
+    // [추가] 아직 DB 에 반영되지 않은 조회수를 더한 응답 (캐시된 DTO 는 그대로 두고 복사본에 더함)
+    // [수정] viewGeneration: views 를 읽기 전에 받은 세대 - 그 사이 반영이 커밋됐으면 그 글의 views 를 다시 읽음
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PostDto.Response withPendingViews(PostDto.Response response, long viewGeneration) {
+        int views = viewCounter.withPending(ViewCounter.Board.POSTS, response.getId(), response.getViews(), viewGeneration);
+        return views == response.getViews() ? response : response.toBuilder().views(views).build();
     }
 }
\ No newline at end of file
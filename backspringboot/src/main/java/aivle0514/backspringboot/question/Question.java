@@ -38,7 +38,8 @@ public class Question {
     @Builder.Default // [수정] Builder 기본값 설정
     private Status status = Status.문의중;
 
-    @Column(nullable = false)
+    // [수정] 조회수는 ViewCounter 가 SQL 로만 더함 - 글 수정 시 읽어 둔 옛 값으로 덮어쓰지 않도록 updatable = false
+    @Column(nullable = false, updatable = false)
     @Builder.Default // [수정] Builder 기본값 설정
     private int views = 0;
 
@@ -1,7 +1,9 @@
 package aivle0514.backspringboot.question;
 
 import aivle0514.backspringboot.question.QuestionAnswerDto;
+import aivle0514.backspringboot.config.CacheConfig;
 import lombok.*;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -18,6 +20,7 @@ public class QuestionAnswerService {
         return answerRepository.findAllByQuestion_Id(questionId);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.QUESTION_PAGES, allEntries = true) // [추가] 목록의 답변 수/상태
     @Transactional
     public QuestionAnswer create(QuestionAnswerDto.CreateRequest req) {
         Question q = questionRepository.findById(req.getQuestionId()).orElseThrow();
@@ -1,6 +1,7 @@
 package aivle0514.backspringboot.question;
 
 import aivle0514.backspringboot.question.QuestionDto;
+import aivle0514.backspringboot.common.CursorPage;
 import lombok.*;
 import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.*;
@@ -11,6 +12,8 @@ import jakarta.validation.Valid;
 @RequiredArgsConstructor
 public class QuestionController {
 
+    private static final int MAX_SCROLL_SIZE = 100; // [추가] 커서 목록 한 번에 최대 개수
+
     private final QuestionService service;
 
     @GetMapping
@@ -19,12 +22,29 @@ public class QuestionController {
                                            @RequestParam(required=false) String category,
                                            @RequestParam(required=false) String status) {
         Question.Status st = (status!=null && !status.isBlank()) ? Question.Status.valueOf(status) : null;
-        return service.list(page, size, category, st).map(QuestionDto.Response::from);
+        // [수정] 미반영 조회수 포함 (캐시/DB 를 읽기 전의 조회수 반영 세대를 넘겨, 그 사이 반영된 글은 다시 읽음)
+        long viewGeneration = service.viewGeneration();
+        return service.listAsDto(page, size, category, st, viewGeneration).map(r -> service.withPendingViews(r, viewGeneration));
+    }
+
+    /**
+     * [추가] 무한 스크롤 목록 - COUNT(*) 없이 커서로 다음 페이지 조회
+     * 예: GET /api/questions/scroll?size=20&status=문의중&cursor=<이전 응답의 nextCursor>
+     */
+    @GetMapping("/scroll")
+    public CursorPage<QuestionDto.Response> scroll(@RequestParam(required=false) String cursor,
+                                                   @RequestParam(defaultValue="10") int size,
+                                                   @RequestParam(required=false) String category,
+                                                   @RequestParam(required=false) String status) {
+        Question.Status st = (status!=null && !status.isBlank()) ? Question.Status.valueOf(status) : null;
+        int pageSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        return service.scrollAsDto(cursor, pageSize, category, st);
     }
 
     @GetMapping("/{id}")
     public QuestionDto.Response get(@PathVariable Long id) {
-        return QuestionDto.Response.from(service.get(id));
+        long viewGeneration = service.viewGeneration();
+        return service.withPendingViews(QuestionDto.Response.from(service.get(id)), viewGeneration);
     }
 
     @PostMapping
@@ -36,7 +56,9 @@ public class QuestionController {
     @PutMapping("/{id}")
     public QuestionDto.Response update(@PathVariable Long id, @Valid @RequestBody QuestionDto.UpdateRequest req) {
         Question.Status st = req.getStatus()!=null ? Question.Status.valueOf(req.getStatus()) : null;
-        return QuestionDto.Response.from(service.update(id, req.getAuthor(), req.getTitle(), req.getContent(), req.getCategory(), st));
+        long viewGeneration = service.viewGeneration();
+        return service.withPendingViews(
+                QuestionDto.Response.from(service.update(id, req.getAuthor(), req.getTitle(), req.getContent(), req.getCategory(), st)), viewGeneration);
     }
 
     @DeleteMapping("/{id}")
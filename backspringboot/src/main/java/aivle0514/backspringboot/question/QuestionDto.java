@@ -33,7 +33,7 @@ public class QuestionDto {
                   private String status;
     }
 
-    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder(toBuilder = true)
     public static class Response {
         private Long id;
         private String title;
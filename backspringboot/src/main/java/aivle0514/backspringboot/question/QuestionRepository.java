@@ -2,8 +2,11 @@ package aivle0514.backspringboot.question;
 
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Repository
@@ -13,4 +16,31 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
 
     List<Question> findAllByAuthor(String author);
     Optional<Question> findByIdAndAuthor(Long id, String author);
+
+    /**
+     * [추가] 키셋 페이지네이션 - 최신순 첫 페이지 (COUNT 없음)
+     * category/status 가 null 이면 해당 조건은 무시됩니다.
+     */
+    @Query("SELECT q FROM Question q " +
+           "WHERE (:category IS NULL OR q.category = :category) " +
+           "AND (:status IS NULL OR q.status = :status) " +
+           "ORDER BY q.createdAt DESC, q.id DESC")
+    List<Question> findLatest(@Param("category") String category,
+                              @Param("status") Question.Status status,
+                              Pageable pageable);
+
+    /**
+     * [추가] 키셋 페이지네이션 - 커서 (createdAt, id) 이후 페이지
+     * idx_questions_created_at / idx_questions_status_created 순서를 그대로 따라 읽습니다.
+     */
+    @Query("SELECT q FROM Question q " +
+           "WHERE (:category IS NULL OR q.category = :category) " +
+           "AND (:status IS NULL OR q.status = :status) " +
+           "AND (q.createdAt < :cursorTime OR (q.createdAt = :cursorTime AND q.id < :cursorId)) " +
+           "ORDER BY q.createdAt DESC, q.id DESC")
+    List<Question> findBeforeCursor(@Param("category") String category,
+                                    @Param("status") Question.Status status,
+                                    @Param("cursorTime") LocalDateTime cursorTime,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
 }
@@ -1,16 +1,35 @@
 package aivle0514.backspringboot.question;
 
+import aivle0514.backspringboot.common.ViewCounter;
+import aivle0514.backspringboot.common.CursorPage;
+import aivle0514.backspringboot.common.TimeCursor;
+import aivle0514.backspringboot.config.CacheConfig;
 import lombok.*;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class QuestionService {
 
     private final QuestionRepository questionRepository;
+    private final ViewCounter viewCounter;
+
+    // [추가] 목록 DTO - 앞쪽 페이지는 캐시 (엔티티가 아닌 DTO 를 캐시)
+    // [수정] 키에 조회수 반영 세대를 넣어, 반영 뒤에는 비우지 않고 새 키로 읽음 (이전 세대는 만료 시간에 정리)
+    @Cacheable(cacheNames = CacheConfig.QUESTION_PAGES, key = "#viewGeneration + ':' + #category + ':' + #status + ':' + #size + ':' + #page",
+               condition = "#page < T(aivle0514.backspringboot.config.CacheConfig).BOARD_CACHED_PAGES"
+                       + " && #size <= T(aivle0514.backspringboot.config.CacheConfig).BOARD_CACHED_MAX_SIZE")
+    public Page<QuestionDto.Response> listAsDto(int page, int size, String category, Question.Status status, long viewGeneration) {
+        return list(page, size, category, status).map(QuestionDto.Response::from);
+    }
 
     public Page<Question> list(int page, int size, String category, Question.Status status) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
@@ -21,16 +40,51 @@ public class QuestionService {
         return questionRepository.findAll(pageable);
     }
 
+    /**
+     * [추가] 무한 스크롤용 커서 페이지 - COUNT(*) 없이 (createdAt, id) 키셋으로 조회
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    public CursorPage<QuestionDto.Response> scrollAsDto(String cursor, int size, String category, Question.Status status) {
+        long viewGeneration = viewGeneration();
+        PageRequest limit = PageRequest.of(0, size + 1); // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+        String categoryOrNull = (category != null && !category.isBlank()) ? category : null;
+
+        List<Question> questions;
+        if (cursor == null || cursor.isBlank()) {
+            questions = questionRepository.findLatest(categoryOrNull, status, limit);
+        } else {
+            TimeCursor c = TimeCursor.decode(cursor);
+            questions = questionRepository.findBeforeCursor(categoryOrNull, status, c.createdAt(), c.id(), limit);
+        }
+        return CursorPage.of(questions, size, q -> withPendingViews(QuestionDto.Response.from(q), viewGeneration),
+                q -> CursorPage.encode(q.getCreatedAt(), q.getId()));
+    }
+
     public Question get(Long id) {
         return questionRepository.findById(id).orElseThrow();
     }
 
-    @Transactional
+    // [수정] 엔티티를 읽고 UPDATE 하지 않고 메모리에 모아 두었다가 주기적으로 일괄 반영 (ViewCounter)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // DB 를 쓰지 않으므로 커넥션을 잡지 않음
     public void increaseViewCount(Long id) {
-        Question q = questionRepository.findById(id).orElseThrow();
-        q.setViews(q.getViews() + 1);
+        viewCounter.increment(ViewCounter.Board.QUESTIONS, id);
+    }
+
+    // [추가] 조회수 반영 세대 - 조회수를 읽기 전에 받아 두었다가 목록 캐시 키와 withPendingViews 에 넘김 (ViewCounter 참고)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long viewGeneration() {
+        return viewCounter.generation(ViewCounter.Board.QUESTIONS);
+    }
+
+    // [추가] 아직 DB 에 반영되지 않은 조회수를 더한 응답 (캐시된 DTO 는 그대로 두고 복사본에 더함)
+    // [수정] viewGeneration: views 를 읽기 전에 받은 세대 - 그 사이 반영이 커밋됐으면 그 글의 views 를 다시 읽음
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public QuestionDto.Response withPendingViews(QuestionDto.Response response, long viewGeneration) {
+        int views = viewCounter.withPending(ViewCounter.Board.QUESTIONS, response.getId(), response.getViews(), viewGeneration);
+        return views == response.getViews() ? response : response.toBuilder().views(views).build();
     }
 
+    @CacheEvict(cacheNames = CacheConfig.QUESTION_PAGES, allEntries = true)
     @Transactional
     public Question create(String title, String content, String author,
                            String category, Question.Status status) {
@@ -45,6 +99,7 @@ public class QuestionService {
         return questionRepository.save(q);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.QUESTION_PAGES, allEntries = true)
     @Transactional
     public Question update(Long id, String author, String title, String content,
                            String category, Question.Status status) {
@@ -56,6 +111,7 @@ public class QuestionService {
         return q;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.QUESTION_PAGES, allEntries = true)
     @Transactional
     public void delete(Long id, String author, String userRole) {
         Question q;
@@ -0,0 +1,214 @@
+package aivle0514.backspringboot.upload;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * [추가] 업로드 이미지의 썸네일(파생 이미지) 생성기
+ * 원본 업로드가 끝나면 백그라운드에서 긴 변 기준 SIZES(128, 512px) JPEG 썸네일을 만들어
+ * /app/public/thumbs/<원본 SHA-256>_<크기>.jpg 에 저장합니다.
+ * 파일명이 원본 내용의 해시라 같은 URL 의 내용은 바뀌지 않으므로, WebConfig 에서 1년 immutable 캐시로 서빙합니다.
+ * (JDK ImageIO 에는 WebP 인코더가 없어 JPEG 으로 만듭니다.)
+ */
+@Slf4j
+@Service
+public class ImageDerivativeService {
+
+    public static final List<Integer> SIZES = List.of(128, 512);
+    static final String THUMBS_DIR = "thumbs";
+    private static final Pattern OBJECT_PATH =
+            Pattern.compile("/" + ImageStorageService.OBJECTS_DIR + "/[0-9a-f]{2}/([0-9a-f]{64})\\.[A-Za-z0-9]+$");
+
+    private static final float JPEG_QUALITY = 0.8f;
+    private static final long MAX_SOURCE_PIXELS = 50_000_000L; // 압축 폭탄 방지 (약 50MP 초과 원본은 건너뜀)
+    private static final int QUEUE_CAPACITY = 100;
+
+    private final Path thumbsRoot;
+    private final ThreadPoolExecutor executor; // 썸네일 전용 (크기 제한, 큐가 차면 생성을 건너뜀)
+
+    public ImageDerivativeService(@Value("${upload.public-root:/app/public}") String publicRoot,
+                                  @Value("${upload.thumbnail-threads:2}") int threads) {
+        this.thumbsRoot = Paths.get(publicRoot, THUMBS_DIR).toAbsolutePath().normalize();
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "thumbnail-" + threadSeq.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 썸네일 공개 URL (생성 전이면 아직 404 일 수 있음)
+     * @return 크기 → /public/thumbs/<hash>_<크기>.jpg
+     */
+    public static Map<Integer, String> thumbnailUrls(String contentHash) {
+        Map<Integer, String> urls = new LinkedHashMap<>();
+        for (int size : SIZES) {
+            urls.put(size, "/public/" + THUMBS_DIR + "/" + fileName(contentHash, size));
+        }
+        return urls;
+    }
+
+    /**
+     * [추가] DB 에 저장된 원본 경로(/app/public/objects/ab/<sha256>.jpg) 또는 URL 의 썸네일 URL
+     * 경로에 원본 해시가 들어 있으므로 따로 저장하지 않고 계산합니다. 내용 주소 저장소 이전 경로/외부 URL 이면 빈 맵.
+     */
+    public static Map<Integer, String> thumbnailUrlsOf(String imagePath) {
+        if (imagePath == null) {
+            return Map.of();
+        }
+        Matcher matcher = OBJECT_PATH.matcher(imagePath);
+        return matcher.find() ? thumbnailUrls(matcher.group(1)) : Map.of();
+    }
+
+    /**
+     * original 의 썸네일 생성을 예약합니다. 즉시 반환하며, 작업이 밀려 있으면 건너뜁니다. (원본은 그대로 서빙 가능)
+     * @param contentHash 원본 내용의 SHA-256 (hex)
+     */
+    public void generateAsync(Path original, String contentHash) {
+        try {
+            executor.execute(() -> generate(original, contentHash));
+        } catch (RejectedExecutionException e) {
+            log.warn("썸네일 작업이 밀려 있어 건너뜁니다: {}", original);
+        }
+    }
+
+    /** [추가] contentHash 의 썸네일 파일 삭제 (원본이 GC 될 때) */
+    public void deleteThumbnails(String contentHash) throws IOException {
+        for (int size : SIZES) {
+            Files.deleteIfExists(thumbsRoot.resolve(fileName(contentHash, size)));
+        }
+    }
+
+    void generate(Path original, String contentHash) {
+        try {
+            if (SIZES.stream().allMatch(size -> Files.exists(thumbsRoot.resolve(fileName(contentHash, size))))) {
+                return; // 같은 내용의 이미지가 이미 처리됨
+            }
+            BufferedImage source = read(original, SIZES.get(SIZES.size() - 1));
+            if (source == null) {
+                return;
+            }
+            Files.createDirectories(thumbsRoot);
+            for (int size : SIZES) {
+                writeJpeg(resize(source, size), thumbsRoot.resolve(fileName(contentHash, size)));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("썸네일 생성 실패: {} ({})", original, e.getMessage());
+        }
+    }
+
+    private static String fileName(String contentHash, int size) {
+        return contentHash + "_" + size + ".jpg";
+    }
+
+    // 큰 원본은 디코딩 단계에서 서브샘플링해 (가장 큰 썸네일의 2배 정도로) 메모리 사용을 줄임
+    private BufferedImage read(Path original, int largestSize) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                log.info("썸네일을 만들 수 없는 형식입니다: {}", original);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    log.warn("원본 해상도가 너무 커서 썸네일을 건너뜁니다: {} ({}x{})", original, width, height);
+                    return null;
+                }
+                int step = Math.max(1, Math.max(width, height) / (largestSize * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 긴 변을 size 로 맞춤 (확대하지 않음), 투명 배경은 흰색으로
+    private BufferedImage resize(BufferedImage source, int size) {
+        double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    // 임시 파일에 쓴 뒤 원자적으로 이동 (서빙 중 반쯤 쓰인 파일이 보이지 않도록)
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path tmp = Files.createTempFile(target.getParent(), ".thumb-", ".tmp");
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+                writer.setOutput(out);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
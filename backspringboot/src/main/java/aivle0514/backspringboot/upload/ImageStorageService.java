@@ -0,0 +1,188 @@
+package aivle0514.backspringboot.upload;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * [추가] 이미지 업로드 저장소 (스트리밍)
+ * 요청 본문을 64KB 버퍼 하나로 읽어 저장 디렉터리의 임시 파일에 FileChannel 로 바로 쓰면서
+ * - 앞 12바이트(매직 넘버)로 실제 형식(JPEG/PNG/WebP)을 판별하고 (확장자/Content-Type 은 믿지 않음)
+ * - SHA-256 을 함께 계산하고
+ * - 이미지 전용 최대 크기를 넘는 순간 중단합니다.
+ * 끝나면 objects/<sha256 앞 2자리>/<sha256>.<확장자> 로 원자적 이동하고 stored_files 에 기록합니다.
+ * [수정] 사용자와 무관하게 내용 주소로 저장하므로 같은 사진은 몇 번을 올려도 파일 하나만 남습니다.
+ */
+@Service
+public class ImageStorageService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SNIFF_BYTES = 12;
+    static final String OBJECTS_DIR = "objects";
+
+    private final Path publicRoot;
+    private final Path objectsRoot;
+    private final long maxImageBytes;
+    private final StoredFileRepository storedFileRepository;
+
+    public ImageStorageService(@Value("${upload.public-root:/app/public}") String publicRoot,
+                               @Value("${upload.image.max-size:10MB}") DataSize maxImageSize,
+                               StoredFileRepository storedFileRepository) {
+        this.publicRoot = Paths.get(publicRoot).toAbsolutePath().normalize();
+        this.objectsRoot = this.publicRoot.resolve(OBJECTS_DIR);
+        this.maxImageBytes = maxImageSize.toBytes();
+        this.storedFileRepository = storedFileRepository;
+    }
+
+    /** 저장된 이미지 */
+    public record StoredImage(Path path, String contentHash, ImageType type, long size) {}
+
+    /** 허용하는 이미지 형식 (매직 넘버로 판별) */
+    public enum ImageType {
+        JPEG("jpg"), PNG("png"), WEBP("webp");
+
+        private final String extension;
+
+        ImageType(String extension) {
+            this.extension = extension;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        static ImageType sniff(byte[] head, int length) {
+            if (length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+                return JPEG;
+            }
+            if (length >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G'
+                    && head[4] == 0x0D && head[5] == 0x0A && head[6] == 0x1A && head[7] == 0x0A) {
+                return PNG;
+            }
+            if (length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                    && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+                return WEBP;
+            }
+            return null;
+        }
+    }
+
+    /** 이미지 전용 최대 크기 초과 (413) */
+    public static class ImageTooLargeException extends RuntimeException {
+        public ImageTooLargeException(long maxBytes) {
+            super("이미지는 최대 " + DataSize.ofBytes(maxBytes).toMegabytes() + "MB 까지 업로드할 수 있습니다.");
+        }
+    }
+
+    /** 허용하지 않는 형식 (415) */
+    public static class UnsupportedImageException extends RuntimeException {
+        public UnsupportedImageException() {
+            super("Only image files (jpg, jpeg, png, webp) are allowed");
+        }
+    }
+
+    public long getMaxImageBytes() {
+        return maxImageBytes;
+    }
+
+    public Path getPublicRoot() {
+        return publicRoot;
+    }
+
+    /** 내용 해시의 저장 경로: /app/public/objects/<hash 앞 2자리>/<hash>.<extension> */
+    public Path objectPath(String contentHash, String extension) {
+        return objectsRoot.resolve(contentHash.substring(0, 2)).resolve(contentHash + "." + extension);
+    }
+
+    /**
+     * in 을 끝까지 읽어 objects/ 아래에 내용 주소로 저장합니다.
+     * @throws ImageTooLargeException 최대 크기 초과 (임시 파일은 삭제)
+     * @throws UnsupportedImageException JPEG/PNG/WebP 가 아님
+     */
+    public StoredImage store(InputStream in) throws IOException {
+        Files.createDirectories(objectsRoot);
+
+        MessageDigest sha256 = newSha256();
+        Path tmp = Files.createTempFile(objectsRoot, ".upload-", ".tmp");
+        try {
+            ImageType type;
+            long size = 0;
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel target = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                type = null;
+                int read;
+                while ((read = source.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxImageBytes) {
+                        throw new ImageTooLargeException(maxImageBytes);
+                    }
+                    if (type == null) {
+                        if (buffer.position() < SNIFF_BYTES) {
+                            continue; // 매직 넘버를 판별할 만큼 모일 때까지 버퍼를 비우지 않음
+                        }
+                        type = sniffOrThrow(buffer);
+                    }
+                    drain(buffer, sha256, target);
+                }
+                if (type == null) {
+                    type = sniffOrThrow(buffer); // 12바이트보다 짧은 본문
+                }
+                drain(buffer, sha256, target);
+                target.force(false);
+            }
+
+            String contentHash = HexFormat.of().formatHex(sha256.digest());
+            Path finalPath = objectPath(contentHash, type.extension());
+            // 행을 먼저 기록(갱신)해 두어야 GC 가 이동 직후의 파일을 지우지 않음
+            // (GC 가 이 해시를 지우는 중이면 행 잠금이 풀릴 때까지 여기서 대기)
+            storedFileRepository.recordUpload(contentHash, type.extension(), size);
+            // [수정] 같은 내용이 이미 있어도 항상 옮겨 놓음 - 내용이 같으므로 교체해도 무방하고, 직전에 GC 가 지운 경우에도 파일이 남음
+            Files.createDirectories(finalPath.getParent());
+            Files.move(tmp, finalPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return new StoredImage(finalPath, contentHash, type, size);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static ImageType sniffOrThrow(ByteBuffer buffer) {
+        ImageType type = ImageType.sniff(buffer.array(), buffer.position());
+        if (type == null) {
+            throw new UnsupportedImageException();
+        }
+        return type;
+    }
+
+    private static void drain(ByteBuffer buffer, MessageDigest digest, FileChannel target) throws IOException {
+        buffer.flip();
+        digest.update(buffer.array(), buffer.arrayOffset(), buffer.limit());
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
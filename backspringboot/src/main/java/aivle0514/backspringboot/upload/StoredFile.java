@@ -0,0 +1,39 @@
+package aivle0514.backspringboot.upload;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * [추가] 내용 주소(SHA-256) 기반으로 저장된 업로드 파일
+ * 실제 파일은 /app/public/objects/<hash 앞 2자리>/<hash>.<extension> 에 하나만 있고,
+ * 고양이 사진/프로필 이미지는 이 경로를 참조합니다. (StoredFileGarbageCollector 가 참조 없는 파일을 정리)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "stored_files", indexes = {
+        @Index(name = "idx_stored_files_last_uploaded", columnList = "last_uploaded_at")
+})
+public class StoredFile {
+
+    @Id
+    @Column(length = 64)
+    private String hash; // SHA-256 (hex)
+
+    @Column(nullable = false, length = 10)
+    private String extension;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // 마지막으로 같은 내용이 업로드된 시각 - GC 유예 기간의 기준
+    @Column(name = "last_uploaded_at", nullable = false)
+    private LocalDateTime lastUploadedAt;
+}
@@ -0,0 +1,115 @@
+package aivle0514.backspringboot.upload;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * [추가] 참조가 없어진 업로드 파일 정리 (mark-and-sweep)
+ * 1) mark : cats.image / users.profile_image 에서 objects/ 경로의 해시를 모두 모으고
+ * 2) sweep: stored_files 중 유예 기간(grace) 동안 다시 업로드되지 않았고 어디서도 참조하지 않는 파일을 삭제합니다.
+ * 유예 기간은 "업로드 직후, 고양이/프로필 저장 전" 상태의 파일을 보호합니다.
+ * [수정] 파일 삭제는 stored_files 행 잠금을 쥔 트랜잭션 안에서 합니다. 같은 파일의 재업로드(recordUpload)는 잠금이 풀릴 때까지 기다렸다가
+ * 새 행을 만들고 파일을 다시 옮겨 놓으므로, 행은 있는데 파일이 없는 상태가 생기지 않습니다.
+ */
+@Slf4j
+@Component
+public class StoredFileGarbageCollector {
+
+    private static final int BATCH_SIZE = 500;
+    private static final Pattern OBJECT_HASH = Pattern.compile("/objects/[0-9a-f]{2}/([0-9a-f]{64})\\.");
+
+    private final StoredFileRepository storedFileRepository;
+    private final ImageStorageService imageStorageService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration grace;
+
+    public StoredFileGarbageCollector(StoredFileRepository storedFileRepository,
+                                      ImageStorageService imageStorageService,
+                                      ImageDerivativeService imageDerivativeService,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${upload.gc.grace:24h}") Duration grace) {
+        this.storedFileRepository = storedFileRepository;
+        this.imageStorageService = imageStorageService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.transactionTemplate = transactionTemplate;
+        this.grace = grace;
+    }
+
+    @Scheduled(initialDelayString = "${upload.gc.initial-delay:10m}", fixedDelayString = "${upload.gc.interval:6h}")
+    public void collect() {
+        try {
+            // [수정] last_uploaded_at 과 같은 DB 시계 기준 (JVM 과 시계/시간대가 달라도 유예 기간이 줄지 않음)
+            LocalDateTime before = storedFileRepository.findDatabaseNow().minus(grace);
+            Set<String> referenced = markReferencedHashes();
+
+            int deleted = 0;
+            String afterHash = "";
+            List<StoredFile> candidates;
+            do {
+                candidates = storedFileRepository.findUploadedBefore(before, afterHash, PageRequest.of(0, BATCH_SIZE));
+                for (StoredFile file : candidates) {
+                    if (!referenced.contains(file.getHash()) && sweep(file, before)) {
+                        deleted++;
+                    }
+                }
+                if (!candidates.isEmpty()) {
+                    afterHash = candidates.get(candidates.size() - 1).getHash();
+                }
+            } while (candidates.size() == BATCH_SIZE);
+
+            if (deleted > 0) {
+                log.info("참조 없는 업로드 파일 {}개를 삭제했습니다.", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("업로드 파일 정리를 건너뜁니다: {}", e.getMessage());
+        }
+    }
+
+    private Set<String> markReferencedHashes() {
+        Set<String> hashes = new HashSet<>();
+        for (String value : storedFileRepository.findObjectReferences()) {
+            Matcher m = OBJECT_HASH.matcher(value);
+            while (m.find()) {
+                hashes.add(m.group(1));
+            }
+        }
+        return hashes;
+    }
+
+    private boolean sweep(StoredFile file, LocalDateTime before) {
+        Boolean deleted = transactionTemplate.execute(status -> {
+            // 그 사이 다시 업로드되었으면 행이 잡히지 않음 - 둘 다 유지
+            StoredFile locked = storedFileRepository.lockIfUploadedBefore(file.getHash(), before).orElse(null);
+            if (locked == null) {
+                return false;
+            }
+            try {
+                Files.deleteIfExists(imageStorageService.objectPath(locked.getHash(), locked.getExtension()));
+                imageDerivativeService.deleteThumbnails(locked.getHash());
+            } catch (IOException e) {
+                log.warn("업로드 파일 삭제 실패: {} ({})", locked.getHash(), e.getMessage());
+                status.setRollbackOnly(); // 행을 남겨 다음 주기에 다시 시도
+                return false;
+            }
+            storedFileRepository.delete(locked);
+            return true;
+        });
+        return Boolean.TRUE.equals(deleted);
+    }
+}
@@ -0,0 +1,61 @@
+package aivle0514.backspringboot.upload;
+
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    /**
+     * 업로드 기록: 처음이면 행을 만들고, 이미 있으면 last_uploaded_at 만 갱신 (동시 업로드에도 안전)
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO stored_files (hash, extension, size_bytes, created_at, last_uploaded_at) " +
+                   "VALUES (:hash, :extension, :size, NOW(), NOW()) " +
+                   "ON DUPLICATE KEY UPDATE last_uploaded_at = NOW()",
+           nativeQuery = true)
+    void recordUpload(@Param("hash") String hash, @Param("extension") String extension, @Param("size") long size);
+
+    /**
+     * GC 후보: before 이전에 마지막으로 업로드된 파일 (hash 키셋 순회)
+     */
+    @Query("SELECT f FROM StoredFile f WHERE f.lastUploadedAt < :before AND f.hash > :afterHash ORDER BY f.hash")
+    List<StoredFile> findUploadedBefore(@Param("before") LocalDateTime before,
+                                        @Param("afterHash") String afterHash,
+                                        Pageable pageable);
+
+    /**
+     * [수정] GC 삭제 대상 행을 잠금 (SELECT ... FOR UPDATE) - 그 사이 다시 업로드되었으면(last_uploaded_at 갱신) 빈 값
+     * 잠금을 쥔 동안에는 같은 해시의 recordUpload 가 대기하므로, 파일 삭제와 재업로드가 엇갈리지 않습니다. 트랜잭션 안에서 호출해야 합니다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM StoredFile f WHERE f.hash = :hash AND f.lastUploadedAt < :before")
+    Optional<StoredFile> lockIfUploadedBefore(@Param("hash") String hash, @Param("before") LocalDateTime before);
+
+    /**
+     * [추가] DB 시각 - last_uploaded_at 이 DB NOW() 로 기록되므로 유예 기간 계산도 같은 시계를 씁니다.
+     */
+    @Query(value = "SELECT NOW()", nativeQuery = true)
+    LocalDateTime findDatabaseNow();
+
+    /**
+     * 마킹: objects/ 경로를 참조하는 모든 이미지 값 (고양이 사진, 프로필 이미지)
+     */
+    @Query(value = "SELECT image FROM cats WHERE image LIKE '%/objects/%' " +
+                   "UNION ALL " +
+                   "SELECT profile_image FROM users WHERE profile_image LIKE '%/objects/%'",
+           nativeQuery = true)
+    List<String> findObjectReferences();
+}
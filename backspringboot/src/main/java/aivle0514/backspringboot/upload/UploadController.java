@@ -1,84 +1,103 @@
 package aivle0514.backspringboot.upload;
 
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.file.*;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/upload")
+@RequiredArgsConstructor
 public class UploadController {
 
     private static final String APP_ROOT = "/app";
-    private static final String PUBLIC_ROOT = APP_ROOT + "/public";
 
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageStorageService imageStorageService;
+
+    /**
+     * [수정] 고양이 사진 업로드 (multipart)
+     * 내용 주소 저장소(ImageStorageService)에 저장합니다. 같은 사진은 같은 경로(/public/objects/..)를 돌려받습니다.
+     * userId 는 더 이상 저장 경로에 쓰지 않지만 기존 클라이언트 호환을 위해 받기만 합니다.
+     */
     @PostMapping(value = "/cat-image", consumes = "multipart/form-data")
     public ResponseEntity<?> uploadCatImage(
             @RequestParam("file") MultipartFile file,
-            @RequestParam("userId") String userId
+            @RequestParam(value = "userId", required = false) String userId
     ) {
         if (file == null || file.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("message", "No file"));
         }
-
-        // userId 정규화 (디렉터리 트래버설 방지용)
-        String safeUserId = userId == null ? "unknown" : userId.replaceAll("[^\\w.-]", "_");
-
-        // 간단 확장자/컨텐트타입 체크 (원하면 더 강화 가능)
-        String original = file.getOriginalFilename() == null ? "image" : file.getOriginalFilename();
-        String lower = original.toLowerCase();
-        boolean allowedExt = lower.endsWith(".jpg") || lower.endsWith(".jpeg") || lower.endsWith(".png") || lower.endsWith(".webp");
-        String contentType = file.getContentType() == null ? "" : file.getContentType().toLowerCase();
-        boolean allowedMime = contentType.startsWith("image/");
-        if (!allowedExt || !allowedMime) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("message", "Only image files (jpg, jpeg, png, webp) are allowed"));
+        if (file.getSize() > imageStorageService.getMaxImageBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("message", new ImageStorageService.ImageTooLargeException(imageStorageService.getMaxImageBytes()).getMessage()));
         }
 
-        try {
-            // 사용자 하위 디렉토리 생성
-            Path userDir = Paths.get(PUBLIC_ROOT, safeUserId).toAbsolutePath().normalize();
-            Files.createDirectories(userDir);
-
-            // 안전한 파일명 생성
-            String baseName = original.contains(".")
-                    ? original.substring(0, original.lastIndexOf('.'))
-                    : original;
-            String ext = original.contains(".")
-                    ? original.substring(original.lastIndexOf('.'))
-                    : "";
-            String safeBase = baseName.replaceAll("[^\\w.-]", "_");
-            String filename = System.currentTimeMillis() + "_" + safeBase + ext;
-
-            // 저장
-            Path target = userDir.resolve(filename).normalize();
-            // 최종 경로가 userDir 바깥으로 벗어나지 않는지 확인 (이중 안전)
-            if (!target.startsWith(userDir)) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(Map.of("message", "Invalid path"));
-            }
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-
-            // DB 저장용 절대 경로 (예: /app/public/<userId>/<filename>.jpg)
-            String savedPath = target.toString().replace("\\", "/");
-            // 정적 서빙용 URL (예: /public/<userId>/<filename>.jpg)
-            String publicUrl = savedPath.replace(APP_ROOT, "");
+        try (InputStream in = file.getInputStream()) {
+            return storeAndRespond(in);
+        } catch (ImageStorageService.ImageTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("message", e.getMessage()));
+        } catch (ImageStorageService.UnsupportedImageException e) {
+            // 기존과 같이 400 (형식 판별은 확장자/Content-Type 대신 매직 넘버로)
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        } catch (IOException e) {
+            // e.printStackTrace(); // 운영에서는 로거 사용 권장
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Upload failed"));
+        }
+    }
 
-            Map<String, String> resp = new HashMap<>();
-            resp.put("savedPath", savedPath);
-            resp.put("publicUrl", publicUrl);
-            return ResponseEntity.status(HttpStatus.CREATED).body(resp);
+    /**
+     * [추가] 고양이 사진 스트리밍 업로드 (multipart 아님, 요청 본문 = 이미지 바이트)
+     * 예: POST /api/upload/cat-image/stream?userId=3  (Content-Type: image/jpeg, body: 파일)
+     * 본문을 임시 디스크/메모리에 모으지 않고 저장 위치로 바로 쓰며, 형식은 매직 넘버로 판별합니다.
+     * 응답 형식은 /cat-image 와 같습니다.
+     */
+    @PostMapping(value = "/cat-image/stream", consumes = {"image/*", "application/octet-stream"})
+    public ResponseEntity<?> uploadCatImageStream(
+            @RequestParam(value = "userId", required = false) String userId,
+            HttpServletRequest request
+    ) {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > imageStorageService.getMaxImageBytes()) {
+            // 본문을 읽기 전에 거절
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("message", new ImageStorageService.ImageTooLargeException(imageStorageService.getMaxImageBytes()).getMessage()));
+        }
 
+        try (InputStream body = request.getInputStream()) {
+            return storeAndRespond(body);
+        } catch (ImageStorageService.ImageTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("message", e.getMessage()));
+        } catch (ImageStorageService.UnsupportedImageException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(Map.of("message", e.getMessage()));
         } catch (IOException e) {
-            // e.printStackTrace(); // 운영에서는 로거 사용 권장
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("message", "Upload failed"));
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<?> storeAndRespond(InputStream in) throws IOException {
+        ImageStorageService.StoredImage stored = imageStorageService.store(in);
+        // [추가] 128/512px 썸네일은 백그라운드에서 생성 (이미 있으면 건너뜀)
+        imageDerivativeService.generateAsync(stored.path(), stored.contentHash());
+
+        // DB 저장용 절대 경로 (예: /app/public/objects/ab/<sha256>.jpg)
+        String savedPath = stored.path().toString().replace("\\", "/");
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("savedPath", savedPath);
+        // 정적 서빙용 URL (예: /public/objects/ab/<sha256>.jpg) - 내용이 바뀌지 않으므로 영구 캐시 가능
+        resp.put("publicUrl", savedPath.replace(APP_ROOT, ""));
+        // 썸네일 URL (예: { "128": "/public/thumbs/<sha256>_128.jpg", "512": ... }), 생성 완료 전에는 404 일 수 있음
+        resp.put("thumbnails", ImageDerivativeService.thumbnailUrls(stored.contentHash()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(resp);
+    }
+}
@@ -0,0 +1,22 @@
+package aivle0514.backspringboot.user;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * [추가] 로그인한 사용자 (Spring Security Principal)
+ * 로그인 시 한 번 조회한 users.id 를 함께 들고 있어서, 이후 요청에서는 이메일로 사용자를 다시 조회하지 않고
+ * 컨트롤러에서 @AuthenticationPrincipal AuthUser 로 바로 id 를 꺼내 씁니다.
+ */
+@Getter
+public class AuthUser extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+
+    public AuthUser(Long id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+    }
+}
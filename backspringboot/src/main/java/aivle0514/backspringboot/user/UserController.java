@@ -4,7 +4,7 @@ import org.springframework.web.bind.annotation.RestController;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 
 @CrossOrigin
 @RestController
@@ -27,12 +27,9 @@ public class UserController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<UserDto.UserResponse> getMyInfo(Authentication authentication) {
-        // 인증 객체에서 사용자 이메일을 가져옵니다.
-        String userEmail = authentication.getName();
-        
-        // 이메일을 사용해 사용자 정보를 조회하고 Dto로 변환합니다.
-        UserDto.UserResponse userInfo = userService.getUserInfoByEmail(userEmail);
+    public ResponseEntity<UserDto.UserResponse> getMyInfo(@AuthenticationPrincipal AuthUser authUser) {
+        // [수정] 로그인 시 담아 둔 사용자 id/이메일로 (캐시된) 사용자 정보를 조회하고 Dto로 변환합니다.
+        UserDto.UserResponse userInfo = userService.getUserInfo(authUser.getId(), authUser.getUsername());
         
         // 조회된 사용자 정보를 응답으로 보냅니다.
         return ResponseEntity.ok(userInfo);
@@ -42,21 +39,19 @@ public class UserController {
     // 프로필 수정 (이름, 이메일, 프로필 이미지)
     @PutMapping("/update")
     public ResponseEntity<UserDto.UserResponse> updateMyInfo(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthUser authUser,
             @RequestBody UserDto.UpdateRequest requestDto) {
 
-        String userEmail = authentication.getName();
-        UserDto.UserResponse updatedUser = userService.updateUser(userEmail, requestDto);
+        UserDto.UserResponse updatedUser = userService.updateUser(authUser.getId(), requestDto);
         return ResponseEntity.ok(updatedUser);
     }
 
     @PutMapping("/change-password")
     public ResponseEntity<String> changePassword(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthUser authUser,
             @RequestBody UserDto.PasswordChangeRequest requestDto) {
         
-        String userEmail = authentication.getName();
-        userService.changePassword(userEmail, requestDto);
+        userService.changePassword(authUser.getId(), requestDto);
         return ResponseEntity.ok("비밀번호 변경 성공");
     }
 
@@ -67,5 +67,16 @@ public class UserDto {
             this.streamKey = user.getStreamKey();
             this.profileImage = user.getProfileImage();  //필드 매핑
         }
+
+        // [추가] 캐시된 사용자 정보로 생성
+        public UserResponse(UserSnapshot user) {
+            this.id = user.id();
+            this.username = user.username();
+            this.email = user.email();
+            this.joinDate = user.joinDate();
+            this.role = user.role();
+            this.streamKey = user.streamKey();
+            this.profileImage = user.profileImage();
+        }
     }
 }
@@ -4,6 +4,7 @@ package aivle0514.backspringboot.user;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,10 +15,11 @@ import java.util.Collections;
 
 @Service
 @RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserSnapshotService userSnapshotService;
 
 
     /**
@@ -26,24 +28,38 @@ public class UserService implements UserDetailsService {
      * @return UserDetails 객체 (사용자 정보, 암호화된 비밀번호, 권한 등을 담고 있음)
      */
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // 이메일을 기반으로 사용자를 찾습니다.
-        return userRepository.findByEmail(email)
-                .map(this::createUserDetails) // 사용자가 있으면 UserDetails 객체로 변환
+        // [수정] 이메일을 기반으로 사용자를 찾습니다. (UserSnapshotService 캐시 경유, 매번 새 AuthUser 생성)
+        return userSnapshotService.findByEmail(email)
+                .map(UserSnapshot::toAuthUser) // 사용자가 있으면 UserDetails 객체로 변환
                 .orElseThrow(() -> new UsernameNotFoundException(email + " -> 데이터베이스에서 찾을 수 없습니다."));
     }
 
     // DB의 User 객체를 Spring Security가 이해할 수 있는 UserDetails 객체로 변환하는 메소드
     private UserDetails createUserDetails(User user) {
-        // UserDetails의 구현체인 User 객체를 생성하여 반환합니다.
-        return new org.springframework.security.core.userdetails.User(
+        // [수정] users.id 를 함께 담는 AuthUser 로 반환합니다. (요청마다 이메일로 다시 조회하지 않도록)
+        return new AuthUser(
+                user.getId(),             // users.id
                 user.getEmail(),          // Principal (사용자를 식별하는 주요 정보, 여기서는 이메일)
                 user.getPassword(),       // 암호화된 비밀번호
                 Collections.emptyList()   // 권한 목록 (예: "ROLE_USER", "ROLE_ADMIN")
         );
     }
 
+    /**
+     * [추가] 로그인 성공 후 저장된 해시가 현재 설정(알고리즘/cost)과 다르면 Spring Security 가 호출합니다.
+     * @param newPassword 새 설정으로 다시 계산한 해시 ("{bcrypt}..." 등)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(userDetails.getUsername() + " -> 데이터베이스에서 찾을 수 없습니다."));
+        user.setPassword(newPassword);
+        userSnapshotService.evict(user.getEmail());
+        return createUserDetails(user);
+    }
+
     @Transactional
     public void register(UserDto.RegisterRequest requestDto) {
         if (userRepository.findByEmail(requestDto.getEmail()).isPresent()) {
@@ -65,31 +81,40 @@ public class UserService implements UserDetailsService {
 
         user.setPassword(passwordEncoder.encode(requestDto.getNewPassword()));
         userRepository.save(user);
+        userSnapshotService.evict(user.getEmail());
     }
 
+    /**
+     * [수정] 내 정보 - 로그인 이메일로 캐시에서 조회
+     * 이메일을 바꾼 뒤 세션/토큰에 이전 이메일이 남아 있는 경우 등 id 가 맞지 않으면 id 로 DB 조회합니다.
+     */
     @Transactional(readOnly = true)
-    public UserDto.UserResponse getUserInfoByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다."));
-
-        return new UserDto.UserResponse(user);
+    public UserDto.UserResponse getUserInfo(Long userId, String email) {
+        return userSnapshotService.findByEmail(email)
+                .filter(snapshot -> snapshot.id().equals(userId))
+                .map(UserDto.UserResponse::new)
+                .orElseGet(() -> new UserDto.UserResponse(userRepository.findById(userId)
+                        .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다."))));
     }
 
     // 마이페이지 수정.
     @Transactional
-    public UserDto.UserResponse updateUser(String email, UserDto.UpdateRequest requestDto) {
-        User user = userRepository.findByEmail(email)
+    public UserDto.UserResponse updateUser(Long userId, UserDto.UpdateRequest requestDto) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다."));
 
+        String previousEmail = user.getEmail();
         user.update(requestDto.getUsername(), requestDto.getEmail(), requestDto.getProfileImage());
         userRepository.save(user);
+        userSnapshotService.evict(previousEmail);
+        userSnapshotService.evict(user.getEmail());
 
         return new UserDto.UserResponse(user);
     }
 
     @Transactional
-    public void changePassword(String email, UserDto.PasswordChangeRequest requestDto) {
-        User user = userRepository.findByEmail(email)
+    public void changePassword(Long userId, UserDto.PasswordChangeRequest requestDto) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다."));
 
         if (!passwordEncoder.matches(requestDto.getCurrentPassword(), user.getPassword())) {
@@ -98,5 +123,6 @@ public class UserService implements UserDetailsService {
 
         user.setPassword(passwordEncoder.encode(requestDto.getNewPassword()));
         userRepository.save(user);
+        userSnapshotService.evict(user.getEmail());
     }
 }
@@ -0,0 +1,21 @@
+package aivle0514.backspringboot.user;
+
+import java.util.Collections;
+
+/**
+ * [추가] 캐시에 보관하는 사용자 정보 (불변)
+ * JPA 엔티티나 AuthUser 를 그대로 캐시하면 다른 요청과 공유된 객체가 변경될 수 있으므로
+ * (로그인 후 Spring Security 가 AuthUser 의 비밀번호를 지움) 값만 담아 두고 필요할 때마다 새로 만듭니다.
+ */
+public record UserSnapshot(Long id, String username, String email, String password,
+                           String joinDate, String role, String streamKey, String profileImage) {
+
+    public static UserSnapshot from(User user) {
+        return new UserSnapshot(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getJoinDate(), user.getRole(), user.getStreamKey(), user.getProfileImage());
+    }
+
+    public AuthUser toAuthUser() {
+        return new AuthUser(id, email, password, Collections.emptyList());
+    }
+}
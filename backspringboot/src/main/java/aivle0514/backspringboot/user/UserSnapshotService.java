@@ -0,0 +1,32 @@
+package aivle0514.backspringboot.user;
+
+import aivle0514.backspringboot.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * [추가] 이메일 → 사용자 정보 캐시 (로그인, /api/user/me)
+ * 정보가 바뀌는 곳(UserService.updateUser / changePassword / resetPassword / 해시 업그레이드)에서 evict 합니다.
+ * 없는 이메일은 캐시하지 않습니다. (가입 직후 로그인이 막히지 않도록)
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSnapshotService {
+
+    private final UserRepository userRepository;
+
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#email", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<UserSnapshot> findByEmail(String email) {
+        return userRepository.findByEmail(email).map(UserSnapshot::from);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#email")
+    public void evict(String email) {
+    }
+}
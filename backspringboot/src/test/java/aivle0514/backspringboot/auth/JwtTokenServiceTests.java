@@ -0,0 +1,135 @@
+package aivle0514.backspringboot.auth;
+
+import aivle0514.backspringboot.user.AuthUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * token 모드 로그인 토큰 발급/검증/폐기(로그아웃) 확인 (실제 MySQL 필요, DB/migrations/005_revoked_tokens.sql 적용)
+ * 폐기 기록은 트랜잭션 롤백으로 정리됩니다.
+ */
+@SpringBootTest(properties = {
+        "security.auth.mode=token",
+        "security.token.secret=dGVzdC1vbmx5LXNlY3JldC1rZXktZm9yLWp3dC10ZXN0cy0wMTIzNDU2Nzg5", // 테스트 전용 45바이트 키
+        "security.token.ttl=10m"
+})
+@AutoConfigureMockMvc
+@Transactional
+class JwtTokenServiceTests {
+
+    private static final AuthUser USER = new AuthUser(-1L, "token-test@example.com", "", Collections.emptyList());
+
+    @Autowired
+    private JwtTokenService tokenService;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void issuedTokenVerifiesWithUserClaims() {
+        JwtTokenService.IssuedToken token = tokenService.issue(USER);
+
+        Jwt jwt = tokenService.getDecoder().decode(token.value());
+
+        assertThat(jwt.getSubject()).isEqualTo("token-test@example.com");
+        assertThat(((Number) jwt.getClaim("uid")).longValue()).isEqualTo(-1L);
+        assertThat(jwt.getExpiresAt()).isEqualTo(token.expiresAt());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String value = tokenService.issue(USER).value();
+        String tampered = value.substring(0, value.length() - 2) + (value.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> tokenService.getDecoder().decode(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void revokedTokenIsRejected() {
+        String value = tokenService.issue(USER).value();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/user/logout");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + value);
+
+        tokenService.revoke(request);
+
+        assertThatThrownBy(() -> tokenService.getDecoder().decode(value)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void logoutRevokesTokenAndClearsCookie() throws Exception {
+        String bearer = "Bearer " + tokenService.issue(USER).value();
+        mockMvc.perform(get("/api/cats").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/user/logout").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.SET_COOKIE, containsString("Max-Age=0")));
+
+        mockMvc.perform(get("/api/cats").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void tokenRevokedByAnotherInstanceIsRejectedAfterSync() {
+        String value = tokenService.issue(USER).value();
+        Jwt jwt = tokenService.getDecoder().decode(value);
+
+        insertRevokedRow(nextId(), jwt.getId()); // 다른 인스턴스의 로그아웃 (이 인스턴스 필터에는 없음)
+        revocationList.sync();
+
+        assertThatThrownBy(() -> tokenService.getDecoder().decode(value)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void lateCommittedRevocationIsNotSkipped() {
+        String early = tokenService.issue(USER).value();
+        String late = tokenService.issue(USER).value();
+        long baseId = nextId();
+
+        // 뒤 id 가 먼저 커밋되고 동기화된 다음, 앞선 id 가 늦게 커밋된 상황
+        insertRevokedRow(baseId + 1, tokenService.getDecoder().decode(late).getId());
+        revocationList.sync();
+        insertRevokedRow(baseId, tokenService.getDecoder().decode(early).getId());
+        revocationList.sync();
+
+        assertThatThrownBy(() -> tokenService.getDecoder().decode(late)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> tokenService.getDecoder().decode(early)).isInstanceOf(JwtException.class);
+    }
+
+    private long nextId() {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM revoked_tokens", Long.class);
+        return max + 1;
+    }
+
+    private void insertRevokedRow(long id, String jti) {
+        jdbcTemplate.update("INSERT INTO revoked_tokens (id, jti, expires_at) VALUES (?, ?, ?)",
+                id, jti, Timestamp.valueOf(LocalDateTime.now().plusMinutes(10)));
+    }
+}
@@ -0,0 +1,243 @@
+package aivle0514.backspringboot.common;
+
+import aivle0514.backspringboot.post.PostDto;
+import aivle0514.backspringboot.post.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조회수 write-behind 카운터 동시성 확인 (실제 MySQL 필요)
+ * 조회/반영/읽기를 여러 스레드에서 동시에 돌려, 화면에 보이는 조회수가 줄어들지 않고 반영 후 합계가 맞는지 봅니다.
+ * 반영은 별도 커넥션(JdbcTemplate 자동 커밋)으로 이루어지므로 트랜잭션 롤백 대신 테스트 카테고리의 글을 직접 지웁니다.
+ */
+@SpringBootTest
+class ViewCounterTests {
+
+    private static final int THREADS = 8;
+    private static final int VIEWS_PER_THREAD = 500;
+
+    @Autowired
+    private ViewCounter viewCounter;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String category;
+
+    @BeforeEach
+    void setUp() {
+        category = "vc-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        viewCounter.flush();
+        jdbcTemplate.update("DELETE FROM posts WHERE category = ?", category);
+    }
+
+    @Test
+    void viewsNeverGoDownWhileFlushing() throws Exception {
+        long postId = insertPost();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> decreases = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 3);
+        try {
+            List<Future<?>> viewers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                viewers.add(pool.submit(() -> {
+                    for (int i = 0; i < VIEWS_PER_THREAD; i++) {
+                        postService.increaseViewCount(postId);
+                    }
+                }));
+            }
+            Future<?> flusher = pool.submit(() -> {
+                while (running.get()) {
+                    viewCounter.flush();
+                }
+            });
+            // 목록(캐시 경유)과 단건(DB) 을 번갈아 읽어도 값이 줄어들면 안 됨
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(pool.submit(() -> {
+                    int last = 0;
+                    boolean fromList = false;
+                    while (running.get()) {
+                        int views = fromList ? listedViews(postId) : postService.getAsDto(postId).getViews();
+                        if (views < last) {
+                            decreases.add(last + " -> " + views + (fromList ? " (list)" : " (get)"));
+                        }
+                        last = Math.max(last, views);
+                        fromList = !fromList;
+                    }
+                }));
+            }
+
+            for (Future<?> viewer : viewers) {
+                viewer.get(60, TimeUnit.SECONDS);
+            }
+            Thread.sleep(200); // 마지막 조회분까지 몇 번 더 반영/읽기
+            running.set(false);
+            flusher.get(60, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        viewCounter.flush();
+        int total = THREADS * VIEWS_PER_THREAD;
+        assertThat(decreases).isEmpty();
+        assertThat(dbViews(postId)).isEqualTo(total);
+        assertThat(postService.getAsDto(postId).getViews()).isEqualTo(total);
+        assertThat(listedViews(postId)).isEqualTo(total);
+    }
+
+    @Test
+    void idleCountersDoNotLoseViews() throws Exception {
+        int posts = 20;
+        long[] postIds = new long[posts];
+        AtomicInteger[] expected = new AtomicInteger[posts];
+        for (int i = 0; i < posts; i++) {
+            postIds[i] = insertPost();
+            expected[i] = new AtomicInteger();
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            Future<?> flusher = pool.submit(() -> {
+                while (running.get()) {
+                    viewCounter.flush(); // 조회가 뜸한 글의 카운터는 매 주기 지워졌다 다시 생김
+                }
+            });
+            List<Future<?>> viewers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                viewers.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < VIEWS_PER_THREAD; i++) {
+                        int p = random.nextInt(posts);
+                        postService.increaseViewCount(postIds[p]);
+                        expected[p].incrementAndGet();
+                        if (random.nextInt(20) == 0) {
+                            Thread.sleep(1); // 띄엄띄엄 조회
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> viewer : viewers) {
+                viewer.get(60, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            flusher.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        viewCounter.flush();
+        for (int i = 0; i < posts; i++) {
+            assertThat(dbViews(postIds[i])).as("post %d", postIds[i]).isEqualTo(expected[i].get());
+            assertThat(viewCounter.pendingViews(ViewCounter.Board.POSTS, postIds[i])).isZero();
+        }
+    }
+
+    @Test
+    void flushAdvancesGenerationWithoutTouchingUpdatedAt() {
+        long postId = insertPost();
+        Timestamp updatedAt = updatedAt(postId);
+        String etag = postService.getListETag();
+        long generation = postService.viewGeneration();
+
+        postService.increaseViewCount(postId);
+        viewCounter.flush();
+
+        assertThat(updatedAt(postId)).isEqualTo(updatedAt);
+        assertThat(postService.viewGeneration()).isGreaterThan(generation);
+        assertThat(postService.viewGeneration() % 2).isZero(); // 커밋이 끝나면 짝수
+        assertThat(postService.getListETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void failedBatchIsRolledBackAndRetriedWithoutDoubleCounting() {
+        long postId = insertPost();
+        long overflowId = insertPost();
+        jdbcTemplate.update("UPDATE posts SET views = 2147483647 WHERE id = ?", overflowId); // views + 1 이 INT 범위를 넘어 실패
+
+        postService.increaseViewCount(postId);
+        postService.increaseViewCount(postId);
+        postService.increaseViewCount(overflowId);
+        viewCounter.flush();
+
+        // 배치 전체가 롤백되어 어느 글에도 반영되지 않고 대기분은 그대로
+        assertThat(dbViews(postId)).isZero();
+        assertThat(viewCounter.pendingViews(ViewCounter.Board.POSTS, postId)).isEqualTo(2);
+
+        jdbcTemplate.update("UPDATE posts SET views = 0 WHERE id = ?", overflowId);
+        viewCounter.flush();
+
+        assertThat(dbViews(postId)).isEqualTo(2);
+        assertThat(dbViews(overflowId)).isEqualTo(1);
+        assertThat(viewCounter.pendingViews(ViewCounter.Board.POSTS, postId)).isZero();
+    }
+
+    private int listedViews(long postId) {
+        long generation = postService.viewGeneration();
+        return postService.listAsDto(0, 10, category, null, generation).map(p -> postService.withPendingViews(p, generation))
+                .stream()
+                .filter(p -> p.getId() == postId)
+                .mapToInt(PostDto.Response::getViews)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Timestamp updatedAt(long postId) {
+        return jdbcTemplate.queryForObject("SELECT updated_at FROM posts WHERE id = ?", Timestamp.class, postId);
+    }
+
+    private int dbViews(long postId) {
+        return jdbcTemplate.queryForObject("SELECT views FROM posts WHERE id = ?", Integer.class, postId);
+    }
+
+    private long insertPost() {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO posts (title, content, author, category, views, updated_at) VALUES (?, ?, ?, ?, 0, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, "조회수 테스트");
+            ps.setString(2, "본문");
+            ps.setString(3, "tester");
+            ps.setString(4, category);
+            ps.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+}
@@ -0,0 +1,132 @@
+package aivle0514.backspringboot.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 일일 통계 계산 방식 비교 벤치마크 (실제 MySQL 필요)
+ * - stream  : 기존 방식. 하루치 Event 엔티티를 모두 로드해 JVM 에서 groupingBy + 정규식 파싱
+ * - groupBy : EventRepository.aggregateIntakeByCat 으로 MySQL 에서 SUM/COUNT
+ *
+ * 실행: ./mvnw test -Dtest=EventDailyStatsBenchmarkTests -Dbenchmark=true
+ * 테스트 데이터는 트랜잭션 롤백으로 정리됩니다.
+ */
+@Slf4j
+@SpringBootTest
+@Transactional
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EventDailyStatsBenchmarkTests {
+
+    private static final int[] EVENTS_PER_DAY = {1_000, 10_000, 100_000};
+    private static final String[] CAT_NAMES = {"나비", "기쁨", "치즈", "까망", "보리"};
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareStreamAndGroupByAggregation() {
+        LocalDate date = LocalDate.of(2000, 1, 1);
+
+        for (int eventsPerDay : EVENTS_PER_DAY) {
+            String userId = "bench-" + UUID.randomUUID();
+            insertEvents(userId, date, eventsPerDay);
+
+            List<DailyCatStatsDto> viaStream = streamAggregate(userId, date);
+            List<DailyCatStatsDto> viaGroupBy = eventService.aggregateDailyStatsFromEvents(userId, date);
+            assertSameStats(viaStream, viaGroupBy);
+
+            double streamMs = measure(() -> streamAggregate(userId, date));
+            double groupByMs = measure(() -> eventService.aggregateDailyStatsFromEvents(userId, date));
+            log.info("[benchmark] events/day={}  stream={} ms  groupBy={} ms  (x{})", eventsPerDay,
+                    String.format("%.2f", streamMs), String.format("%.2f", groupByMs), String.format("%.1f", streamMs / groupByMs));
+        }
+    }
+
+    private void insertEvents(String userId, LocalDate date, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime time = date.atStartOfDay().plusSeconds((long) i * 86_400 / count);
+            String weightInfo = (i % 7) + "." + (i % 10) + "g";
+            // 10건 중 1건은 weight_grams 없이 저장 (트리거 없는 DB 에 직접 INSERT 된 행 - weight_info 변환 경로도 함께 측정)
+            Double weightGrams = i % 10 == 0 ? null : Event.parseWeightGrams(weightInfo);
+            rows.add(new Object[]{
+                    userId, Timestamp.valueOf(time), 5.0f, weightInfo, weightGrams,
+                    i % 2 == 0 ? "drink" : "meal", CAT_NAMES[i % CAT_NAMES.length]
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO events (user_id, event_time, duration_seconds, weight_info, weight_grams, event_type, cat_name) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    // 기존 EventService 구현 (엔티티 로드 + JVM 집계)
+    private List<DailyCatStatsDto> streamAggregate(String userId, LocalDate date) {
+        List<Event> events = eventRepository.findByUserIdAndEventTimeBetween(
+                userId, date.atStartOfDay(), date.atTime(LocalTime.MAX));
+        Map<String, List<Event>> eventsByCat = events.stream()
+                .filter(event -> event.getCatName() != null)
+                .collect(Collectors.groupingBy(Event::getCatName));
+        return eventsByCat.entrySet().stream()
+                .map(entry -> new DailyCatStatsDto(entry.getKey(),
+                        entry.getValue().stream().filter(e -> "drink".equals(e.getEventType()))
+                                .mapToDouble(e -> legacyParseWeight(e.getWeightInfo())).sum(),
+                        entry.getValue().stream().filter(e -> "meal".equals(e.getEventType()))
+                                .mapToDouble(e -> legacyParseWeight(e.getWeightInfo())).sum()))
+                .collect(Collectors.toList());
+    }
+
+    private static double legacyParseWeight(String weightInfo) {
+        if (weightInfo == null || weightInfo.isEmpty()) return 0.0;
+        try {
+            return Double.parseDouble(weightInfo.replaceAll("[^\\d.]", ""));
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    private double measure(Runnable task) {
+        for (int i = 0; i < WARMUP_RUNS; i++) task.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) task.run();
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_RUNS;
+    }
+
+    private static void assertSameStats(List<DailyCatStatsDto> expected, List<DailyCatStatsDto> actual) {
+        Comparator<DailyCatStatsDto> byName = Comparator.comparing(DailyCatStatsDto::getCatName);
+        List<DailyCatStatsDto> e = expected.stream().sorted(byName).toList();
+        List<DailyCatStatsDto> a = actual.stream().sorted(byName).toList();
+        assertThat(a).hasSameSizeAs(e);
+        for (int i = 0; i < e.size(); i++) {
+            assertThat(a.get(i).getCatName()).isEqualTo(e.get(i).getCatName());
+            assertThat(a.get(i).getTotalWaterIntake()).isCloseTo(e.get(i).getTotalWaterIntake(), within(0.01));
+            assertThat(a.get(i).getTotalFoodIntake()).isCloseTo(e.get(i).getTotalFoodIntake(), within(0.01));
+        }
+    }
+}
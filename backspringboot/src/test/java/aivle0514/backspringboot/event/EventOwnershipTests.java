@@ -0,0 +1,79 @@
+package aivle0514.backspringboot.event;
+
+import aivle0514.backspringboot.auth.JwtTokenService;
+import aivle0514.backspringboot.user.AuthUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 이벤트 조회 API 가 로그인한 사용자 본인의 기록만 돌려주는지 확인 (실제 MySQL 필요)
+ * 토큰 모드로 띄워 Bearer 토큰으로 로그인 상태를 만듭니다.
+ */
+@SpringBootTest(properties = {
+        "security.auth.mode=token",
+        "security.token.secret=dGVzdC1vbmx5LXNlY3JldC1rZXktZm9yLWp3dC10ZXN0cy0wMTIzNDU2Nzg5"
+})
+@AutoConfigureMockMvc
+@Transactional
+class EventOwnershipTests {
+
+    private static final String OWNER = "owner@example.com";
+    private static final String OTHER = "other@example.com";
+
+    @Autowired
+    private JwtTokenService tokenService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void exportRejectsAnotherUsersHistory() throws Exception {
+        mockMvc.perform(get("/api/events/export").param("userId", OTHER).header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/events/export").param("userId", OWNER).header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/events/export").header(HttpHeaders.AUTHORIZATION, bearer())) // userId 생략 - 본인
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void streamRejectsAnotherUsersFeed() throws Exception {
+        mockMvc.perform(get("/api/events/stream").param("userId", OTHER).header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void pageRejectsAnotherUsersHistory() throws Exception {
+        mockMvc.perform(get("/api/events/page").param("userId", OTHER).header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/events/page").header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rangeStatsRejectAnotherUsersCats() throws Exception {
+        mockMvc.perform(get("/api/events/stats/range").param("userId", OTHER)
+                        .param("from", "2025-08-01").param("to", "2025-08-31")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/events/stats/range")
+                        .param("from", "2025-08-01").param("to", "2025-08-31")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk());
+    }
+
+    private String bearer() {
+        AuthUser user = new AuthUser(-1L, OWNER, "", Collections.emptyList());
+        return "Bearer " + tokenService.issue(user).value();
+    }
+}
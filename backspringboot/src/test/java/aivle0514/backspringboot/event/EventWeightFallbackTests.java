@@ -0,0 +1,72 @@
+package aivle0514.backspringboot.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * weight_grams 가 NULL 로 저장된 이벤트(트리거 없는 DB 에 collectionservice 등이 직접 INSERT)도 통계에 포함되는지 확인합니다.
+ * 트리거가 설치된 DB 라면 INSERT 시 채워지므로 결과는 같아야 합니다. 테스트 데이터는 트랜잭션 롤백으로 정리됩니다.
+ */
+@SpringBootTest
+@Transactional
+class EventWeightFallbackTests {
+
+    private static final LocalDate DATE = LocalDate.of(2000, 1, 2);
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void dailyStatsIncludeEventsWithoutWeightGrams() {
+        String userId = "weight-" + UUID.randomUUID();
+        insertWithoutWeightGrams(userId, 9, "drink", "12.5g");
+        insertWithoutWeightGrams(userId, 10, "drink", "7.5g");
+        insertWithoutWeightGrams(userId, 11, "meal", "30g");
+        insertWithoutWeightGrams(userId, 12, "meal", "N/A"); // 변환 불가 - 0 으로 취급
+
+        List<DailyCatStatsDto> stats = eventService.aggregateDailyStatsFromEvents(userId, DATE);
+
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).getCatName()).isEqualTo("나비");
+        assertThat(stats.get(0).getTotalWaterIntake()).isCloseTo(20.0, within(0.001));
+        assertThat(stats.get(0).getTotalFoodIntake()).isCloseTo(30.0, within(0.001));
+    }
+
+    @Test
+    void hourlyStatsIncludeEventsWithoutWeightGrams() {
+        String userId = "weight-" + UUID.randomUUID();
+        insertWithoutWeightGrams(userId, 9, "drink", "12.5g");
+        insertWithoutWeightGrams(userId, 9, "meal", "30g");
+        insertWithoutWeightGrams(userId, 10, "drink", "7.5g");
+
+        List<CatStatsSeriesDto> series = eventService.getRangeStatsByUserId(userId, DATE, DATE, EventService.StatsBucket.hour);
+
+        assertThat(series).hasSize(1);
+        List<CatStatsSeriesDto.BucketStatsDto> buckets = series.get(0).getSeries();
+        assertThat(buckets).hasSize(24);
+        assertThat(buckets.get(9).getTotalWaterIntake()).isCloseTo(12.5, within(0.001));
+        assertThat(buckets.get(9).getTotalFoodIntake()).isCloseTo(30.0, within(0.001));
+        assertThat(buckets.get(10).getTotalWaterIntake()).isCloseTo(7.5, within(0.001));
+    }
+
+    private void insertWithoutWeightGrams(String userId, int hour, String eventType, String weightInfo) {
+        jdbcTemplate.update(
+                "INSERT INTO events (user_id, event_time, duration_seconds, weight_info, weight_grams, event_type, cat_name) " +
+                "VALUES (?, ?, ?, ?, NULL, ?, ?)",
+                userId, Timestamp.valueOf(DATE.atTime(hour, 0)), 5.0f, weightInfo, eventType, "나비");
+    }
+}
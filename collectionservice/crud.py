@@ -1,10 +1,23 @@
 from sqlalchemy.orm import Session
+import re
 import models
 import schemas
 
+_NON_NUMERIC = re.compile(r"[^\d.]")
+
+def parse_weight_grams(weight_info):
+    # "12.5g" -> 12.5 (백엔드 Event.parseWeightGrams 와 같은 규칙), 변환할 수 없으면 None
+    digits = _NON_NUMERIC.sub("", weight_info or "")
+    try:
+        return float(digits) if digits else None
+    except ValueError:
+        return None
+
 def create_event(db: Session, event: schemas.EventCreate):
     # Pydantic 모델을 SQLAlchemy 모델 인스턴스로 변환
     db_event = models.Event(**event.dict())
+    # DB 트리거가 없는 환경에서도 집계에 쓰이도록 weight_grams 를 직접 채움
+    db_event.weight_grams = parse_weight_grams(event.weight_info)
     
     db.add(db_event)
     db.commit()
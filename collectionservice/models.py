@@ -9,6 +9,7 @@ class Event(Base): #Pydantic 모델 구
     event_time = Column(DateTime)
     duration_seconds = Column(Float)
     weight_info = Column(String(255))
+    weight_grams = Column(Float) # weight_info 를 숫자(g)로 변환한 값 - 백엔드 통계 집계(SUM)에 사용, 변환 불가면 NULL
     origin_video_url = Column(String(255))
     bbox_video_url = Column(String(255))
     event_type = Column(String(255))
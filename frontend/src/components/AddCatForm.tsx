@@ -151,16 +151,14 @@ export function AddCatForm({ onClose, onSubmit, editingCat, userId }: AddCatForm
     try{
       // 새 이미지가 선택되었다면, 먼저 업로드 API로 저장 (고양이 프로필 사진)
       if (imageFile && userId) {
-        const fd = new FormData();
-        fd.append("file", imageFile);
-        fd.append("userId", String(userId));
-
-        const res = await axios.post(`/api/upload/cat-image`, fd, {
-          headers: { "Content-Type": "multipart/form-data" },
+        // 파일 바이트를 본문으로 그대로 전송 (서버가 스트리밍 저장 + 형식/크기 검사)
+        const res = await axios.post(`/api/upload/cat-image/stream`, imageFile, {
+          params: { userId: String(userId) },
+          headers: { "Content-Type": imageFile.type || "application/octet-stream" },
           withCredentials: true,
         });
 
-        // 서버가 반환: { savedPath: "/app/public/<userId>/<filename>.jpg", publicUrl: "/public/<userId>/<filename>.jpg" }
+        // 서버가 반환: { savedPath: "/app/public/objects/ab/<sha256>.jpg", publicUrl: "/public/objects/ab/<sha256>.jpg" }
         imagePathForDb = res.data?.savedPath || imagePathForDb;
       }
 
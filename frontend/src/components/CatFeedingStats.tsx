@@ -205,9 +205,11 @@ const getFoodPercentage = (cat: Cat) => {
                 <div className="w-5 h-5 rounded-full overflow-hidden bg-gray-200">
                   <ImageWithFallback
                     src={
+                      cat.thumbnails?.["128"] ||
                       cat.image ||
                       `https://images.unsplash.com/photo-1574158622682-e40e69881006?w=32&h=32&fit=crop&crop=face`
                     }
+                    fallbackSrc={cat.image || undefined}
                     alt={cat.name}
                     className="w-full h-full object-cover"
                   />
@@ -238,9 +240,11 @@ const getFoodPercentage = (cat: Cat) => {
                         <div className="w-8 h-8 rounded-full overflow-hidden bg-gray-200">
                           <ImageWithFallback
                             src={
+                              cat.thumbnails?.["128"] ||
                               cat.image ||
                               `https://images.unsplash.com/photo-1574158622682-e40e69881006?w=32&h=32&fit=crop&crop=face`
                             }
+                            fallbackSrc={cat.image || undefined}
                             alt={cat.name}
                             className="w-full h-full object-cover"
                           />
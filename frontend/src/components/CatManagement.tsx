@@ -19,6 +19,7 @@ export interface Cat {
   healthStatus: 'healthy' | 'caution' | 'sick';
   lastCheckup: string;
   image?: string;
+  thumbnails?: Record<string, string>; // 추가 : 서버가 만든 썸네일 URL (크기 "128" | "512" → URL)
   notes?: string;
   memo?: string;
   // 새로 추가된 필드들
@@ -231,9 +232,11 @@ export function CatManagement({ cats, onAddCat, onEditCat, onDeleteCat, currentU
                 <div className="w-full h-48 bg-gray-200 rounded-lg mb-4 overflow-hidden">
                   <ImageWithFallback
                     src={
+                      cat.thumbnails?.["512"] ||
                       toPublicUrl(cat.image) ||
                       `https://images.unsplash.com/photo-1574158622682-e40e69881006?w=200&h=200&fit=crop&crop=face`
                     }
+                    fallbackSrc={toPublicUrl(cat.image) || undefined}
                     alt={cat.name}
                     className="w-full h-full object-cover"
                   />
@@ -143,13 +143,14 @@ const handleActivityClick = async (activity: EventData) => {
   setModalBboxUrl('');
 
   try {
-    const [originRes, bboxRes] = await Promise.all([
-      axios.post('/api/events/video/sas', { videoUrl: activity.originVideoUrl }),
-      axios.post('/api/events/video/sas', { videoUrl: activity.bboxVideoUrl  }),
-    ]);
-    setModalOriginUrl(originRes?.data?.videoUrl ?? '');
+    // 원본/BBOX 영상 SAS URL 을 한 번의 요청으로 발급
+    const res = await axios.post('/api/events/video/sas/batch', {
+      videoUrls: [activity.originVideoUrl, activity.bboxVideoUrl].filter(Boolean),
+    });
+    const signed: Record<string, string> = res?.data?.videoUrls ?? {};
+    setModalOriginUrl(signed[activity.originVideoUrl] ?? '');
     // 추가-jks : %2F를 '/'로 바꾸기
-    const rawBboxUrl = bboxRes?.data?.videoUrl ?? '';
+    const rawBboxUrl = signed[activity.bboxVideoUrl] ?? '';
     const safeBboxUrl = replaceEncodedSlashInPath(rawBboxUrl);
     setModalBboxUrl(safeBboxUrl);
     console.log('bbox origin url :',rawBboxUrl);
@@ -14,6 +14,7 @@ interface Cat {
   healthStatus: 'healthy' | 'caution' | 'sick';
   lastCheckup: string;
   image?: string;
+  thumbnails?: Record<string, string>; // 추가 : 썸네일 URL (크기 → URL)
   notes?: string;
 }
 
@@ -110,7 +111,8 @@ export function RegisteredCats({ cats = [], onGoToCatManagement }: RegisteredCat
                 <div className="flex items-start gap-4">
                   <div className="w-16 h-16 bg-gray-200 rounded-lg flex items-center justify-center overflow-hidden">
                     <ImageWithFallback
-                      src={cat.image || `https://images.unsplash.com/photo-1574158622682-e40e69881006?w=64&h=64&fit=crop&crop=face`}
+                      src={cat.thumbnails?.["128"] || cat.image || `https://images.unsplash.com/photo-1574158622682-e40e69881006?w=64&h=64&fit=crop&crop=face`}
+                      fallbackSrc={cat.image || undefined}
                       alt={cat.name}
                       className="w-full h-full object-cover"
                     />